@@ -0,0 +1,73 @@
+package benchmark;
+
+import graph.CsrGraph;
+import graph.Graph;
+import util.GraphGenerator;
+import util.GraphLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+
+/**
+ * Graphs shared by the benchmarks: the bundled Facebook samples,
+ * and synthetic random graphs of up to 10M edges
+ * @author Solange U. Gasengayire
+ */
+final class BenchmarkGraphs {
+
+    private BenchmarkGraphs() {}
+
+    /**
+     * Return a graph by name: "facebook_1000" and "facebook_2000" are the
+     * bundled samples, "random_1M" and "random_10M" Erdős–Rényi graphs with
+     * one (respectively ten) million edges and an average degree of 20
+     * @param name the graph name
+     * @return the CSR graph
+     */
+    static CsrGraph csr(String name) {
+        switch (name) {
+            case "random_1M":
+                return GraphGenerator.erdosRenyi(100_000, 1_000_000, 42L).toCsr();
+            case "random_10M":
+                return GraphGenerator.erdosRenyi(1_000_000, 10_000_000, 42L).toCsr();
+            default:
+                Graph graph = new Graph(name);
+                try (InputStream stream = open(name)) {
+                    GraphLoader.loadGraph(graph, stream);
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+                return graph.toCsr();
+        }
+    }
+
+    /**
+     * Copy a bundled data file to a temporary file
+     * @param name the data file name, without extension
+     * @return the temporary file path
+     */
+    static Path copyToFile(String name) throws IOException {
+        Path file = Files.createTempFile(name, ".txt");
+        file.toFile().deleteOnExit();
+        try (InputStream stream = open(name)) {
+            Files.copy(stream, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+
+    /**
+     * Open a bundled data file
+     * @param name the data file name, without extension
+     * @return the data stream
+     */
+    static InputStream open(String name) {
+        return Objects.requireNonNull(BenchmarkGraphs.class.getClassLoader()
+                .getResourceAsStream("data/" + name + ".txt"), name);
+    }
+
+}
@@ -0,0 +1,61 @@
+package benchmark;
+
+import algorithm.CascadeEngine;
+import algorithm.CascadeStatistics;
+import algorithm.MonteCarloRunner;
+import graph.CsrGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of cascade simulations: a single run in each
+ * propagation mode, and batches of Monte Carlo trials
+ * @author Solange U. Gasengayire
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class CascadeBenchmark {
+
+    @Param({"facebook_1000", "facebook_2000", "random_1M", "random_10M"})
+    public String dataset;
+
+    @Param({"SEQUENTIAL", "ROUNDS"})
+    public CascadeEngine.Mode mode;
+
+    private CascadeEngine engine;
+    private MonteCarloRunner runner;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        CsrGraph graph = BenchmarkGraphs.csr(dataset);
+        engine = new CascadeEngine(graph);
+        engine.setMode(mode);
+        engine.setRewardA(3);
+        engine.setRewardB(1);
+        runner = new MonteCarloRunner(graph);
+        runner.setMode(mode);
+        runner.setRewardA(3);
+        runner.setRewardB(1);
+        random = new SplittableRandom(42L);
+    }
+
+    @Benchmark
+    public int singleCascade() {
+        engine.run(random);
+        return engine.getSwitchedVertices();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public CascadeStatistics monteCarlo100() {
+        return runner.run(100, 42L);
+    }
+
+}
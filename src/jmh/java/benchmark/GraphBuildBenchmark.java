@@ -0,0 +1,68 @@
+package benchmark;
+
+import graph.CsrGraph;
+import graph.Graph;
+import org.openjdk.jmh.annotations.*;
+import util.EdgeListParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of graph building through Graph.addVertex/addEdge,
+ * and of the CSR snapshot
+ * @author Solange U. Gasengayire
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphBuildBenchmark {
+
+    @Param({"facebook_1000", "facebook_2000"})
+    public String dataset;
+
+    private int[] from;
+    private int[] to;
+    private int edges;
+    private Graph graph;
+
+    @Setup
+    public void setUp() throws IOException {
+        from = new int[1024];
+        to = new int[1024];
+        try (InputStream stream = BenchmarkGraphs.open(dataset)) {
+            EdgeListParser.parse(stream, (v, w) -> {
+                if (edges == from.length) {
+                    from = Arrays.copyOf(from, 2 * edges);
+                    to = Arrays.copyOf(to, 2 * edges);
+                }
+                from[edges] = v;
+                to[edges] = w;
+                edges++;
+            });
+        }
+        graph = build();
+    }
+
+    @Benchmark
+    public Graph build() {
+        Graph result = new Graph(dataset);
+        for (int i = 0; i < edges; i++) {
+            result.addVertex(from[i]);
+            result.addVertex(to[i]);
+            result.addEdge(from[i], to[i]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public CsrGraph toCsr() {
+        return graph.toCsr();
+    }
+
+}
@@ -0,0 +1,46 @@
+package benchmark;
+
+import algorithm.IndependentCascade;
+import graph.CsrGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of independent cascade spread estimation,
+ * 64 worlds being simulated per graph traversal
+ * @author Solange U. Gasengayire
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class IndependentCascadeBenchmark {
+
+    @Param({"facebook_1000", "facebook_2000", "random_1M", "random_10M"})
+    public String dataset;
+
+    @Param({"0.01", "0.1"})
+    public double probability;
+
+    private IndependentCascade cascade;
+    private int[] seeds;
+
+    @Setup
+    public void setUp() {
+        CsrGraph graph = BenchmarkGraphs.csr(dataset);
+        cascade = new IndependentCascade(graph, probability);
+        seeds = new int[Math.max(graph.vertexCount() / 1000, 1)];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = i;
+        }
+    }
+
+    @Benchmark
+    public double spread1024() {
+        return cascade.estimateSpread(seeds, 1024, 42L);
+    }
+
+}
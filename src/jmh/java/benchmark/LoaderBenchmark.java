@@ -0,0 +1,62 @@
+package benchmark;
+
+import graph.CsrGraph;
+import graph.Graph;
+import graph.IndexedGraph;
+import org.openjdk.jmh.annotations.*;
+import util.GraphFile;
+import util.GraphLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of graph loading: GraphStream-backed graph,
+ * two-pass CSR loading, and binary file mapping
+ * @author Solange U. Gasengayire
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoaderBenchmark {
+
+    @Param({"facebook_1000", "facebook_2000"})
+    public String dataset;
+
+    private Path text;
+    private Path binary;
+
+    @Setup
+    public void setUp() throws IOException {
+        text = BenchmarkGraphs.copyToFile(dataset);
+        binary = Files.createTempFile(dataset, ".bin");
+        binary.toFile().deleteOnExit();
+        GraphLoader.convert(text, binary);
+    }
+
+    @Benchmark
+    public Graph loadGraph() throws IOException {
+        Graph graph = new Graph(dataset);
+        try (InputStream stream = Files.newInputStream(text)) {
+            GraphLoader.loadGraph(graph, stream);
+        }
+        return graph;
+    }
+
+    @Benchmark
+    public CsrGraph loadCsr() throws IOException {
+        return GraphLoader.loadCsr(text);
+    }
+
+    @Benchmark
+    public IndexedGraph openBinary() throws IOException {
+        return GraphFile.open(binary);
+    }
+
+}
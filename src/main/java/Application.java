@@ -1,5 +1,10 @@
+import algorithm.CascadeMetricsCollector;
 import algorithm.InformationCascade;
+import graph.CsrGraph;
 import graph.Graph;
+import gui.CascadeDeltaPublisher;
+import gui.GraphView;
+import gui.GraphViewPump;
 import gui.MainView;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
@@ -19,7 +24,18 @@ import java.util.Scanner;
  */
 public class Application extends javafx.application.Application {
 
-    private Graph graph;
+    // larger graphs are displayed through a sample of this size
+    private static final int MAX_DISPLAYED_VERTICES = 5000;
+
+    // display refresh rate, and number of vertex changes shown per frame
+    private static final int FRAMES_PER_SECOND = 30;
+    private static final int CHANGES_PER_FRAME = 20;
+
+    private CsrGraph graph;
+    private GraphView view;
+
+    // run metrics, published through JMX
+    private final CascadeMetricsCollector metrics = new CascadeMetricsCollector();
 
     public static void main(String[] args) {
         System.setProperty("org.graphstream.ui.renderer",
@@ -30,9 +46,14 @@ public class Application extends javafx.application.Application {
 
     @Override
     public void start(Stage primaryStage) {
+        metrics.register("application");
         ViewPanel graphPanel = initGraph();
         InformationCascade algorithm = new InformationCascade();
         algorithm.init(graph);
+        algorithm.addMetricsListener(metrics);
+        CascadeDeltaPublisher publisher = new CascadeDeltaPublisher();
+        algorithm.addListener(publisher);
+        new GraphViewPump(view, publisher, CHANGES_PER_FRAME).start(FRAMES_PER_SECOND);
         MainView mainView = new MainView(algorithm, graphPanel);
 
         Scene scene = new Scene(mainView);
@@ -60,32 +81,35 @@ public class Application extends javafx.application.Application {
      * @return a panel for graph visualizations
      */
     private ViewPanel initGraph() {
-        graph = new Graph("Information Cascades");
-        graph.addAttribute("ui.stylesheet", getStyleSheet());
-        graph.addAttribute("ui.quality");
-        graph.addAttribute("ui.antialias");
-
-        graph.setAutoCreate(true);
-        graph.setStrict(false);
-
-        Viewer viewer = new Viewer(graph, Viewer.ThreadingModel.GRAPH_IN_ANOTHER_THREAD);
-        ViewPanel graphPanel = viewer.addDefaultView(false);
-        graphPanel.getCamera().setViewPercent(0.65);
-        viewer.enableAutoLayout();
+        Graph data = new Graph("Information Cascades");
 
         //TODO #1: use a progress indicator, and run the graph initialization in a different thread!
         //TODO #1: make use of the edX's software design and data structures' Using Threads in Java video!
 
+        long start = System.nanoTime();
+
         // a try-with-resources statement
         // → we do not have to explicitly handle closing the stream
         // → it's done for us!
         try (InputStream graphStream = Objects.requireNonNull(getClass().getClassLoader()
                                             .getResourceAsStream("data/facebook_1000.txt"))
             ) {
-            GraphLoader.loadGraph(graph, graphStream);
+            GraphLoader.loadGraph(data, graphStream);
         } catch (Exception exception) {
             // do nothing (for the time being) until we add Logging to our application
         }
+        graph = data.toCsr();
+        metrics.graphLoaded(System.nanoTime() - start);
+
+        view = new GraphView(data.getId(), graph, MAX_DISPLAYED_VERTICES);
+        view.getDisplay().addAttribute("ui.stylesheet", getStyleSheet());
+        view.getDisplay().addAttribute("ui.quality");
+        view.getDisplay().addAttribute("ui.antialias");
+
+        Viewer viewer = new Viewer(view.getDisplay(), Viewer.ThreadingModel.GRAPH_IN_ANOTHER_THREAD);
+        ViewPanel graphPanel = viewer.addDefaultView(false);
+        graphPanel.getCamera().setViewPercent(0.65);
+        viewer.enableAutoLayout();
 
         return graphPanel;
     }
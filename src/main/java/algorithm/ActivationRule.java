@@ -0,0 +1,45 @@
+package algorithm;
+
+import graph.IndexedGraph;
+
+import java.util.SplittableRandom;
+
+/**
+ * Rule deciding when a vertex adopts the new behavior.
+ * <p>
+ * The engine keeps, for each vertex, the number of its neighbors who have
+ * adopted, and hands it to the rule: count-based rules need no state of
+ * their own. Rules on weighted edges keep their own accumulators, updated
+ * each time a vertex adopts. A rule holds the state of one run at most,
+ * so an instance must not be shared by engines running concurrently.
+ * <p>
+ * Engines without a rule apply the reward-based global threshold
+ * on their own, without calling through this interface.
+ * @author Solange U. Gasengayire
+ */
+public interface ActivationRule {
+
+    /**
+     * Called before each run, once the state is reset and before the seeds adopt
+     * @param graph the graph of the run
+     * @param random the random generator of the run
+     */
+    default void prepare(IndexedGraph graph, SplittableRandom random) {}
+
+    /**
+     * Called each time a vertex adopts the new behavior (seeds included)
+     * @param graph the graph of the run
+     * @param vertex the (dense) index of the adopter
+     */
+    default void adopted(IndexedGraph graph, int vertex) {}
+
+    /**
+     * Indicate whether a vertex that has not adopted yet should adopt
+     * @param graph the graph of the run
+     * @param vertex the (dense) index of the vertex
+     * @param adoptedNeighbors the number of its neighbors who have adopted
+     * @return true if the vertex should adopt
+     */
+    boolean shouldActivate(IndexedGraph graph, int vertex, int adoptedNeighbors);
+
+}
@@ -0,0 +1,181 @@
+package algorithm;
+
+import graph.IndexedGraph;
+
+import java.util.Arrays;
+
+/**
+ * Analysis of why a cascade stopped.
+ * <p>
+ * Easley and Kleinberg show that a cascade stops exactly when it meets a
+ * cluster of density greater than 1 - q, where q = b / (a + b): every vertex
+ * of such a cluster has too many neighbors inside of it to ever switch.
+ * Starting from the vertices that did not switch, this detector peels off
+ * every vertex that cannot resist, that is whose neighbors outside of the
+ * cluster exceed the threshold, until only resisting vertices are left.
+ * What remains is the maximal blocking cluster.
+ * <p>
+ * Each vertex is peeled at most once and each peeling touches its
+ * neighbors only, so a detection runs in linear time. Peeled vertices are
+ * kept in a work queue: the order in which they are peeled does not change
+ * the resulting cluster. After a round-based run (at the exact fixed point)
+ * nothing gets peeled; after a sequential run, peeled vertices are those
+ * the cascade missed by stopping early.
+ * <p>
+ * The analysis holds for the reward-based global threshold only: it does
+ * not apply to the runs of an engine with an activation rule.
+ * @author Solange U. Gasengayire
+ */
+public class BlockingClusterDetector {
+
+    private final IndexedGraph graph;
+
+    // cluster membership, and number of neighbors outside of the cluster
+    private final boolean[] member;
+    private final int[] outside;
+    private final int[] queue;
+
+    private int[] members = new int[0];
+    private int peeledVertices;
+    private double density;
+
+    /**
+     * Create a new detector for a given graph
+     * @param graph the graph at hand
+     */
+    public BlockingClusterDetector(IndexedGraph graph) {
+        int count = graph.vertexCount();
+        this.graph = graph;
+        this.member = new boolean[count];
+        this.outside = new int[count];
+        this.queue = new int[count];
+    }
+
+    /**
+     * Extract the maximal blocking cluster from the final state of a run
+     * @param engine the engine, after a run on the same graph
+     * @return the (dense) indices of the cluster members
+     * @throws IllegalStateException if the engine has an activation rule
+     */
+    public int[] detect(CascadeEngine engine) {
+        if (engine.getActivationRule() != null) {
+            throw new IllegalStateException("Blocking clusters are defined for the reward-based threshold only");
+        }
+        int count = graph.vertexCount();
+        boolean[] adopted = new boolean[count];
+        for (int v = 0; v < count; v++) {
+            adopted[v] = engine.getState(v) != CascadeEngine.DEFAULT;
+        }
+        return detect(adopted, engine.getRewardA(), engine.getRewardB());
+    }
+
+    /**
+     * Extract the maximal blocking cluster among the vertices that did not adopt
+     * @param adopted whether each vertex adopted the new behavior
+     * @param rewardA the reward a
+     * @param rewardB the reward b
+     * @return the (dense) indices of the cluster members
+     */
+    public int[] detect(boolean[] adopted, int rewardA, int rewardB) {
+        int count = graph.vertexCount();
+        long numerator = rewardB;
+        long denominator = (long) rewardA + rewardB;
+        if (denominator < 0) {
+            numerator = -numerator;
+            denominator = -denominator;
+        }
+
+        int candidates = 0;
+        for (int v = 0; v < count; v++) {
+            member[v] = ! adopted[v];
+            if (member[v]) {
+                candidates++;
+            }
+        }
+        Arrays.fill(outside, 0);
+        for (int v = 0; v < count; v++) {
+            if (member[v]) {
+                for (long e = graph.rowStart(v); e < graph.rowEnd(v); e++) {
+                    if (! member[graph.target(e)]) {
+                        outside[v]++;
+                    }
+                }
+            }
+        }
+
+        // enqueue the vertices that cannot resist, then peel them off
+        int head = 0;
+        int tail = 0;
+        for (int v = 0; v < count; v++) {
+            if (member[v] && outside[v] * denominator > numerator * graph.degree(v)) {
+                member[v] = false;
+                queue[tail++] = v;
+            }
+        }
+        while (head < tail) {
+            int vertex = queue[head++];
+            for (long e = graph.rowStart(vertex); e < graph.rowEnd(vertex); e++) {
+                int neighbor = graph.target(e);
+                if (member[neighbor]) {
+                    outside[neighbor]++;
+                    if (outside[neighbor] * denominator > numerator * graph.degree(neighbor)) {
+                        member[neighbor] = false;
+                        queue[tail++] = neighbor;
+                    }
+                }
+            }
+        }
+        peeledVertices = tail;
+
+        // collect the members, and the density of the cluster: the lowest
+        // fraction of neighbors inside of it, among its members
+        members = new int[candidates - tail];
+        density = 1;
+        int size = 0;
+        for (int v = 0; v < count; v++) {
+            if (member[v]) {
+                members[size++] = v;
+                int degree = graph.degree(v);
+                if (degree > 0) {
+                    density = Math.min(density, ((double) (degree - outside[v])) / degree);
+                }
+            }
+        }
+        return members;
+    }
+
+    /**
+     * Return the members of the last detected cluster
+     * @return the (dense) indices of the cluster members
+     */
+    public int[] getMembers() {
+        return members;
+    }
+
+    /**
+     * Return the size of the last detected cluster
+     * @return the cluster size
+     */
+    public int getSize() {
+        return members.length;
+    }
+
+    /**
+     * Return the density of the last detected cluster,
+     * that is the lowest fraction of neighbors inside of it among its members
+     * @return the cluster density (1 for an empty cluster)
+     */
+    public double getDensity() {
+        return density;
+    }
+
+    /**
+     * Return the number of vertices that did not adopt, yet could not resist.
+     * A positive count means the cascade stopped before its fixed point.
+     * @return peeled vertex count
+     */
+    public int getPeeledVertices() {
+        return peeledVertices;
+    }
+
+}
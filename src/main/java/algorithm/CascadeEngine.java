@@ -0,0 +1,759 @@
+package algorithm;
+
+import graph.DynamicGraph;
+import graph.IndexedGraph;
+
+import java.util.*;
+
+/**
+ * Headless information cascade engine.
+ * Vertex states are kept in a primitive array indexed by vertex,
+ * and the engine never pauses: views follow a run as optional
+ * listeners, so batch jobs and tests run at full speed.
+ * <p>
+ * On a dynamic graph, edges can be inserted and deleted after a run:
+ * only the endpoints of an updated edge are evaluated again, thanks to
+ * the switched neighbor counters, and any new switch propagates in rounds.
+ * <p>
+ * By default, a vertex switches when the fraction of its neighbors who have
+ * switched exceeds b / (a + b). Other rules (per-vertex thresholds, weighted
+ * edges, linear threshold) are plugged in as an activation rule. The default
+ * rule is tested inline, so runs without a rule make no interface call.
+ * <p>
+ * Each run is measured (rounds, frontier sizes, edge traversals, rule
+ * evaluations, time per phase) into a reused metrics object, handed
+ * to the metrics listeners at the end of the run.
+ * @author Solange U. Gasengayire
+ */
+public class CascadeEngine {
+
+    /** State of a vertex that has not switched */
+    public static final byte DEFAULT = 0;
+    /** State of a vertex chosen as a seed */
+    public static final byte SEEDED = 1;
+    /** State of a vertex that has switched */
+    public static final byte SWITCHED = 2;
+
+    // a reset walks the rows of the adopters of the last run rather than
+    // filling the state arrays, while they cover less than 1 / RESET_DENSITY
+    // of the vertices: random accesses cost more than a sequential fill
+    private static final int RESET_DENSITY = 8;
+
+    /**
+     * Propagation semantics
+     */
+    public enum Mode {
+        /** Vertices switch one at a time, in queue order (original behavior) */
+        SEQUENTIAL,
+        /** Vertices switch in bulk-synchronous rounds, until the exact fixed point */
+        ROUNDS
+    }
+
+    private final IndexedGraph graph;
+    private final DynamicGraph dynamicGraph;
+    private final BitSet visited;
+    private final int[] evaluated;
+    private final int[] queue;
+    private final List<CascadeListener> listeners;
+    private final List<MetricsListener> metricsListeners;
+    private final CascadeMetrics metrics = new CascadeMetrics();
+    private final SplittableRandom random = new SplittableRandom();
+
+    // double-buffered vertex states: state is read, nextState is written
+    private byte[] state;
+    private byte[] nextState;
+    private int epoch;
+
+    // number of neighbors of each vertex that have adopted the new behavior
+    private final int[] switchedNeighborCount;
+    private long thresholdNumerator;
+    private long thresholdDenominator;
+
+    // null for the reward-based default rule
+    private ActivationRule rule;
+
+    private Mode mode = Mode.SEQUENTIAL;
+    private int rewardA = 1;
+    private int rewardB = 1;
+    private int seededVertices;
+    private int switchedVertices;
+    private int cascadeDepth;
+
+    // the parts of the state the last run has written: the rows of its
+    // adopters, unless edges were updated since
+    private long adopterEdges;
+    private boolean edgesUpdated;
+
+    /**
+     * Create a new engine for a given graph
+     * @param graph the graph at hand
+     */
+    public CascadeEngine(IndexedGraph graph) {
+        int count = graph.vertexCount();
+        this.graph = graph;
+        this.dynamicGraph = graph instanceof DynamicGraph ? (DynamicGraph) graph : null;
+        this.state = new byte[count];
+        this.nextState = new byte[count];
+        this.visited = new BitSet(count);
+        this.evaluated = new int[count];
+        this.switchedNeighborCount = new int[count];
+        this.queue = new int[count];
+        this.listeners = new ArrayList<>();
+        this.metricsListeners = new ArrayList<>();
+    }
+
+    /**
+     * Register a listener to follow the simulations
+     * @param listener the listener to add
+     */
+    public void addListener(CascadeListener listener) {
+        if (listener != null) {
+            listeners.add(listener);
+        }
+    }
+
+    /**
+     * Unregister a listener
+     * @param listener the listener to remove
+     */
+    public void removeListener(CascadeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Register a listener to receive the measurements of each run.
+     * While the engine has metrics listeners, it also measures
+     * the memory each run allocates.
+     * @param listener the listener to add
+     */
+    public void addMetricsListener(MetricsListener listener) {
+        if (listener != null) {
+            metricsListeners.add(listener);
+        }
+    }
+
+    /**
+     * Unregister a metrics listener
+     * @param listener the listener to remove
+     */
+    public void removeMetricsListener(MetricsListener listener) {
+        metricsListeners.remove(listener);
+    }
+
+    /**
+     * Return the measurements of the last run, edge updates included.
+     * The same instance is updated by each run.
+     * @return the metrics of the last run
+     */
+    public CascadeMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Update the propagation semantics
+     * @param mode the new mode
+     */
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Update the activation rule.
+     * Rewards are ignored while a rule is set.
+     * @param rule the new rule, or null for the reward-based default rule
+     */
+    public void setActivationRule(ActivationRule rule) {
+        this.rule = rule;
+    }
+
+    /**
+     * Return the activation rule
+     * @return the rule, or null for the reward-based default rule
+     */
+    public ActivationRule getActivationRule() {
+        return rule;
+    }
+
+    /**
+     * Return the rewardA value
+     * @return reward a
+     */
+    public int getRewardA() {
+        return rewardA;
+    }
+
+    /**
+     * Return the rewardB value
+     * @return reward b
+     */
+    public int getRewardB() {
+        return rewardB;
+    }
+
+    /**
+     * Update the rewardA value
+     * @param rewardA the new value
+     */
+    public void setRewardA(int rewardA) {
+        this.rewardA = rewardA;
+    }
+
+    /**
+     * Update the rewardB value
+     * @param rewardB the new value
+     */
+    public void setRewardB(int rewardB) {
+        this.rewardB = rewardB;
+    }
+
+    /**
+     * Return the total vertex count
+     * @return total vertex count
+     */
+    public int getTotalVertices() {
+        return state.length;
+    }
+
+    /**
+     * Return the seeded vertex count of the last run
+     * @return seeded vertex count
+     */
+    public int getSeededVertices() {
+        return seededVertices;
+    }
+
+    /**
+     * Return the switched vertex count of the last run
+     * @return switched vertex count
+     */
+    public int getSwitchedVertices() {
+        return switchedVertices;
+    }
+
+    /**
+     * Return the depth of the last run, that is the number of
+     * propagation steps between the seeds and the last switched vertex.
+     * In ROUNDS mode, this is the number of rounds it took to reach the fixed point.
+     * @return cascade depth
+     */
+    public int getCascadeDepth() {
+        return cascadeDepth;
+    }
+
+    /**
+     * Indicate whether every vertex has adopted the new behavior in the last run
+     * @return true if the last run was a complete cascade
+     */
+    public boolean isCompleteCascade() {
+        return seededVertices + switchedVertices == state.length;
+    }
+
+    /**
+     * Return the graph this engine works on
+     * @return the indexed graph
+     */
+    public IndexedGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Return the state of a vertex after the last run
+     * @param vertex the vertex index
+     * @return one of DEFAULT, SEEDED or SWITCHED
+     */
+    public byte getState(int vertex) {
+        return state[vertex];
+    }
+
+    /**
+     * Run one simulation: reset the state, seed a random block
+     * of vertices and let the behavior cascade until it stops.
+     */
+    public void run() {
+        run(random);
+    }
+
+    /**
+     * Run one simulation, seeding a block of vertices
+     * chosen with a given random generator
+     * @param random the random generator of this run
+     */
+    public void run(SplittableRandom random) {
+        long allocated = startMeasure();
+        long start = System.nanoTime();
+
+        // Reinitialize the state of the graph
+        resetState();
+        prepareRule(random);
+        long reset = System.nanoTime();
+        int seeds = seedRandomVertices(random);
+        long seeded = System.nanoTime();
+        propagate(seeds);
+        finishMeasure(allocated, start, reset, seeded);
+    }
+
+    /**
+     * Run one simulation from a given seed set
+     * @param seeds the (dense) indices of the seeded vertices
+     */
+    public void run(int[] seeds) {
+        run(seeds, random);
+    }
+
+    /**
+     * Run one simulation from a given seed set
+     * @param seeds the (dense) indices of the seeded vertices
+     * @param random the random generator of this run, used by randomized activation rules
+     */
+    public void run(int[] seeds, SplittableRandom random) {
+        long allocated = startMeasure();
+        long start = System.nanoTime();
+
+        // Reinitialize the state of the graph
+        resetState();
+        prepareRule(random);
+        long reset = System.nanoTime();
+        int tail = 0;
+        for (int vertex : seeds) {
+            if (state[vertex] == DEFAULT) {
+                seed(vertex, tail++);
+            }
+        }
+        metrics.seeded(tail);
+        for (CascadeListener listener : listeners) {
+            listener.seedingFinished();
+        }
+        long seeded = System.nanoTime();
+        propagate(tail);
+        finishMeasure(allocated, start, reset, seeded);
+    }
+
+    /**
+     * Connect two vertices of the (dynamic) graph, and bring the state of the
+     * last run up to date. Adoption is irreversible, as in a run: vertices that
+     * switched stay switched, and the state reached is the fixed point of the
+     * round-based propagation that includes them. After a round-based run,
+     * the state thus stays at the exact fixed point.
+     * @param u a dense vertex index
+     * @param v another dense vertex index
+     * @return true if the connection was added
+     */
+    public boolean insertEdge(int u, int v) {
+        if (! dynamicGraph().insertEdge(u, v)) {
+            return false;
+        }
+        edgesUpdated = true;
+        if (state[u] != DEFAULT) {
+            switchedNeighborCount[v]++;
+        }
+        if (state[v] != DEFAULT) {
+            switchedNeighborCount[u]++;
+        }
+        reevaluate(u, v);
+        return true;
+    }
+
+    /**
+     * Disconnect two vertices of the (dynamic) graph, and bring the state
+     * of the last run up to date. Vertices that switched stay switched;
+     * a vertex that has lost a neighbor may switch in turn.
+     * @param u a dense vertex index
+     * @param v another dense vertex index
+     * @return true if the connection was removed
+     */
+    public boolean deleteEdge(int u, int v) {
+        if (! dynamicGraph().deleteEdge(u, v)) {
+            return false;
+        }
+        edgesUpdated = true;
+        if (state[u] != DEFAULT) {
+            switchedNeighborCount[v]--;
+        }
+        if (state[v] != DEFAULT) {
+            switchedNeighborCount[u]--;
+        }
+        reevaluate(u, v);
+        return true;
+    }
+
+    /**
+     * Return the graph of this engine, as a dynamic graph
+     * @return the dynamic graph
+     */
+    private DynamicGraph dynamicGraph() {
+        if (dynamicGraph == null) {
+            throw new UnsupportedOperationException("The graph of this engine is not dynamic");
+        }
+        return dynamicGraph;
+    }
+
+    /**
+     * Clear the metrics before a run
+     * @return the bytes allocated by the current thread so far,
+     *         when allocations are measured
+     */
+    private long startMeasure() {
+        metrics.clear();
+        return metricsListeners.isEmpty() ? CascadeMetrics.UNAVAILABLE : CascadeMetrics.threadAllocatedBytes();
+    }
+
+    /**
+     * Complete the metrics of a run, and hand them to the metrics listeners
+     * @param allocated the bytes allocated by the current thread before the run
+     * @param start the start time of the run
+     * @param reset the end time of the reset
+     * @param seeded the end time of the seeding
+     */
+    private void finishMeasure(long allocated, long start, long reset, long seeded) {
+        metrics.phases(start, reset, seeded, System.nanoTime());
+        if (metricsListeners.isEmpty()) {
+            return;
+        }
+        if (allocated != CascadeMetrics.UNAVAILABLE) {
+            metrics.allocated(CascadeMetrics.threadAllocatedBytes() - allocated);
+        }
+        for (MetricsListener listener : metricsListeners) {
+            listener.runMeasured(metrics);
+        }
+    }
+
+    /**
+     * Let the activation rule (if any) prepare for a run
+     * @param random the random generator of the run
+     */
+    private void prepareRule(SplittableRandom random) {
+        if (rule != null) {
+            rule.prepare(graph, random);
+        }
+    }
+
+    /**
+     * Evaluate the endpoints of an updated edge again,
+     * and propagate their switches in rounds
+     * @param u an endpoint
+     * @param v the other endpoint
+     */
+    private void reevaluate(int u, int v) {
+        // every vertex that has switched is in the queue already
+        int start = seededVertices + switchedVertices;
+        int tail = start;
+        boolean switchU = state[u] == DEFAULT && shouldSwitch(u);
+        boolean switchV = state[v] == DEFAULT && shouldSwitch(v);
+        if (switchU) {
+            adopt(u, tail++);
+        }
+        if (switchV) {
+            adopt(v, tail++);
+        }
+        if (tail == start) {
+            return;
+        }
+
+        cascadeDepth++;
+        metrics.roundFinished(tail - start);
+        for (CascadeListener listener : listeners) {
+            listener.roundFinished(cascadeDepth);
+        }
+        propagateInRounds(start, tail);
+        for (CascadeListener listener : listeners) {
+            listener.cascadeFinished(seededVertices, switchedVertices);
+        }
+    }
+
+    /**
+     * Let the behavior cascade from the enqueued seeds until it stops
+     * @param seeds the number of enqueued seeds
+     */
+    private void propagate(int seeds) {
+        /*
+         * Example to help formalize our model
+         * ***********************************
+         * For two vertices v and w that are neighbors:
+         *  → if v and w both decide to work for Apple, they get reward a
+         *  → if v and w both decide to work for Microsoft, they get reward b
+         *  → if v and w use apply at different companies, they get no reward
+         *
+         * So, the question becomes: when should a vertex switch the company to apply for?
+         *  →       p : the fraction of v's neighbors that apply at Apple
+         *  → (1 - p) : the fraction of v's neighbors that apply at Microsoft
+         *  → v should switch to Apple if p > [b / (a + b)]
+         * */
+
+        // A vertex should switch when (switched neighbors / degree) > b / (a + b).
+        // The test is done on integers: switched * (a + b) > b * degree,
+        // once the sign of a negative a + b is moved to the numerator
+        thresholdNumerator = rewardB;
+        thresholdDenominator = (long) rewardA + rewardB;
+        if (thresholdDenominator < 0) {
+            thresholdNumerator = -thresholdNumerator;
+            thresholdDenominator = -thresholdDenominator;
+        }
+
+        // The queue holds every vertex that has switched (seeds included).
+        // A vertex never enters it twice, hence the fixed capacity.
+        if (mode == Mode.ROUNDS) {
+            propagateInRounds(0, seeds);
+        } else {
+            propagateSequentially(seeds);
+        }
+
+        for (CascadeListener listener : listeners) {
+            listener.cascadeFinished(seededVertices, switchedVertices);
+        }
+    }
+
+    /**
+     * Let the behavior cascade from the enqueued seeds, one vertex at a time.
+     * Vertices switch as soon as they are found eligible, and a visited
+     * vertex is not examined again.
+     * @param seeds the number of enqueued seeds
+     */
+    private void propagateSequentially(int seeds) {
+        int head = 0;
+        int tail = seeds;
+
+        // vertices are dequeued level by level: the depth of the cascade
+        // grows each time the end of a level is reached
+        int levelEnd = tail;
+        long scanned = 0;
+        long evaluations = 0;
+        while (head < tail) {
+            if (head == levelEnd) {
+                cascadeDepth++;
+                metrics.roundFinished(tail - levelEnd);
+                for (CascadeListener listener : listeners) {
+                    listener.roundFinished(cascadeDepth);
+                }
+                levelEnd = tail;
+            }
+            int current = queue[head++];
+
+            // determine which neighbors should switch
+            int mark = tail;
+            scanned += graph.degree(current);
+            for (long e = graph.rowStart(current); e < graph.rowEnd(current); e++) {
+                int node = graph.target(e);
+                if (! visited.get(node) && state[node] == DEFAULT) {
+                    evaluations++;
+                    if (shouldSwitch(node)) {
+                        queue[tail++] = node;
+                    }
+                }
+
+                // keep track of all the neighbors that were visited
+                visited.set(node);
+            }
+
+            // make all the changes (vertices that have switched)
+            for (int i = mark; i < tail; i++) {
+                adopt(queue[i], i);
+            }
+        }
+        metrics.scanned(scanned, evaluations);
+    }
+
+    /**
+     * Let the behavior cascade from the enqueued seeds, round by round.
+     * All the candidates of a round are evaluated against the state
+     * of the previous round (the read buffer), and their switches written
+     * to the other buffer; the buffers are then swapped.
+     * Only the neighbors of vertices that changed in the previous round are
+     * candidates, and the cascade stops at the exact fixed point.
+     * @param frontierStart the queue position of the first vertex to propagate from
+     * @param frontierEnd the queue position after the last one
+     */
+    private void propagateInRounds(int frontierStart, int frontierEnd) {
+        long scanned = 0;
+        long evaluations = 0;
+        while (frontierStart < frontierEnd) {
+            int tail = frontierEnd;
+            int round = nextEpoch();
+
+            for (int i = frontierStart; i < frontierEnd; i++) {
+                int current = queue[i];
+                scanned += graph.degree(current);
+                for (long e = graph.rowStart(current); e < graph.rowEnd(current); e++) {
+                    int node = graph.target(e);
+                    if (state[node] == DEFAULT && evaluated[node] != round) {
+                        evaluated[node] = round;
+                        evaluations++;
+                        if (shouldSwitch(node)) {
+                            nextState[node] = SWITCHED;
+                            queue[tail++] = node;
+                        }
+                    }
+                }
+            }
+
+            // swap the buffers, and bring the new write buffer up to date
+            byte[] read = nextState;
+            nextState = state;
+            state = read;
+            for (int i = frontierEnd; i < tail; i++) {
+                int vertex = queue[i];
+                nextState[vertex] = SWITCHED;
+                countAdoption(vertex);
+                switchedVertices++;
+                for (CascadeListener listener : listeners) {
+                    listener.vertexSwitched(vertex);
+                }
+            }
+
+            if (tail > frontierEnd) {
+                cascadeDepth++;
+                metrics.roundFinished(tail - frontierEnd);
+                for (CascadeListener listener : listeners) {
+                    listener.roundFinished(cascadeDepth);
+                }
+            }
+            frontierStart = frontierEnd;
+            frontierEnd = tail;
+        }
+        metrics.scanned(scanned, evaluations);
+    }
+
+    /**
+     * Return a new stamp for the evaluated marks,
+     * clearing them when stamps wrap around
+     * @return the new stamp
+     */
+    private int nextEpoch() {
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(evaluated, 0);
+            epoch = 1;
+        }
+        return epoch;
+    }
+
+    /**
+     * Seed a randomly chosen block of vertices
+     * and enqueue them for propagation
+     * @param random the random generator of this run
+     * @return the number of enqueued seeds
+     */
+    private int seedRandomVertices(SplittableRandom random) {
+        int count = state.length;
+        if (count == 0) {
+            return 0;
+        }
+        int limit = (count + 1) / 10;
+        int start = random.nextInt(count);
+        int end = Math.min(start + limit, count);
+
+        int tail = 0;
+        for (int vertex = start; vertex < end; vertex++) {
+            seed(vertex, tail++);
+        }
+
+        metrics.seeded(tail);
+        for (CascadeListener listener : listeners) {
+            listener.seedingFinished();
+        }
+        return tail;
+    }
+
+    /**
+     * Seed a vertex
+     * @param vertex the vertex index
+     * @param position its position in the queue
+     */
+    private void seed(int vertex, int position) {
+        state[vertex] = SEEDED;
+        nextState[vertex] = SEEDED;
+        countAdoption(vertex);
+        queue[position] = vertex;
+        seededVertices++;
+        for (CascadeListener listener : listeners) {
+            listener.vertexSeeded(vertex);
+        }
+    }
+
+    /**
+     * Switch a vertex, and enqueue it
+     * @param vertex the vertex index
+     * @param position its position in the queue
+     */
+    private void adopt(int vertex, int position) {
+        state[vertex] = SWITCHED;
+        nextState[vertex] = SWITCHED;
+        countAdoption(vertex);
+        queue[position] = vertex;
+        switchedVertices++;
+        for (CascadeListener listener : listeners) {
+            listener.vertexSwitched(vertex);
+        }
+    }
+
+    /**
+     * Indicate whether a vertex should switch. With the default rule, that is
+     * whether the fraction of its neighbors who have switched exceeds the
+     * threshold: this takes constant time, thanks to the switched neighbor counters.
+     * @param vertex the vertex index
+     * @return true if the vertex should switch
+     */
+    private boolean shouldSwitch(int vertex) {
+        if (rule != null) {
+            return rule.shouldActivate(graph, vertex, switchedNeighborCount[vertex]);
+        }
+        return switchedNeighborCount[vertex] * thresholdDenominator
+                > thresholdNumerator * graph.degree(vertex);
+    }
+
+    /**
+     * Update the switched neighbor counters after
+     * a vertex has adopted the new behavior
+     * @param vertex the vertex index
+     */
+    private void countAdoption(int vertex) {
+        int degree = graph.degree(vertex);
+        adopterEdges += degree;
+        metrics.scanned(degree, 0);
+        for (long e = graph.rowStart(vertex); e < graph.rowEnd(vertex); e++) {
+            switchedNeighborCount[graph.target(e)]++;
+        }
+        if (rule != null) {
+            rule.adopted(graph, vertex);
+        }
+    }
+
+    /**
+     * Reset to initial state.
+     * This method is called before each simulation.
+     * The last run only wrote the state of its adopters (all in the queue),
+     * and the counters and visited marks of their neighbors: after a small
+     * run, only those are cleared, and back-to-back runs do not pay for
+     * the size of the graph. Edge updates may have moved some neighbors
+     * out of the rows of the adopters, hence a full reset after them.
+     */
+    private void resetState() {
+        int adopters = seededVertices + switchedVertices;
+        if (! edgesUpdated && (adopters + adopterEdges) * RESET_DENSITY < state.length) {
+            for (int i = 0; i < adopters; i++) {
+                int vertex = queue[i];
+                state[vertex] = DEFAULT;
+                nextState[vertex] = DEFAULT;
+                for (long e = graph.rowStart(vertex); e < graph.rowEnd(vertex); e++) {
+                    int node = graph.target(e);
+                    switchedNeighborCount[node] = 0;
+                    visited.clear(node);
+                }
+            }
+        } else {
+            Arrays.fill(state, DEFAULT);
+            Arrays.fill(nextState, DEFAULT);
+            Arrays.fill(switchedNeighborCount, 0);
+            visited.clear();
+        }
+        adopterEdges = 0;
+        edgesUpdated = false;
+        seededVertices = 0;
+        switchedVertices = 0;
+        cascadeDepth = 0;
+
+        for (CascadeListener listener : listeners) {
+            listener.stateReset(state.length);
+            listener.runStarted(mode);
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+package algorithm;
+
+/**
+ * Observer of a cascade simulation.
+ * The engine notifies its listeners of every state change,
+ * so that views (such as the graph visualization) can follow
+ * a run without slowing down the computation itself.
+ * All methods are no-ops by default.
+ * @author Solange U. Gasengayire
+ */
+public interface CascadeListener {
+
+    /**
+     * Called once all vertices have been reset to their default state
+     * @param vertexCount the number of vertices of the graph
+     */
+    default void stateReset(int vertexCount) {}
+
+    /**
+     * Called when a run starts, right after the state reset
+     * @param mode the propagation mode of the run
+     */
+    default void runStarted(CascadeEngine.Mode mode) {}
+
+    /**
+     * Called when a vertex is chosen as a seed
+     * @param vertex the (dense) index of the seeded vertex
+     */
+    default void vertexSeeded(int vertex) {}
+
+    /**
+     * Called once all seeds have been placed
+     */
+    default void seedingFinished() {}
+
+    /**
+     * Called when a vertex switches behavior
+     * @param vertex the (dense) index of the switched vertex
+     */
+    default void vertexSwitched(int vertex) {}
+
+    /**
+     * Called at the end of each round that switched at least one vertex.
+     * A sequential run has no rounds: it is called at the end of each level
+     * of the cascade, that is once the vertices switched by the previous
+     * level have all switched.
+     * @param round the round number, starting at 1
+     */
+    default void roundFinished(int round) {}
+
+    /**
+     * Called when the cascade has stopped
+     * @param seeded the seeded vertex count
+     * @param switched the switched vertex count
+     */
+    default void cascadeFinished(int seeded, int switched) {}
+
+}
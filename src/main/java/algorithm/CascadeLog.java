@@ -0,0 +1,336 @@
+package algorithm;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Compact, immutable log of a cascade run: its seeds, then the vertices
+ * switched at each round, so that a run can be replayed, stepped through
+ * or scrubbed without running it again.
+ * <p>
+ * Vertex ids are delta-encoded (zigzag varints): seeds and rounds are
+ * mostly made of close ids, which then take one or two bytes each.
+ * The vertices of a round are sorted, since their order does not matter.
+ * The rounds of a sequential run are the levels of the cascade: their
+ * vertices are kept in switch order, which a replay must follow.
+ * <pre>
+ * varint vertexCount, varint flags (1 = round-based),
+ * varint seedCount, seedCount zigzag deltas,
+ * varint groupCount, then for each group: varint size, size zigzag deltas
+ * </pre>
+ * Files start with a 4-byte magic number ("IFCL") and a 4-byte version.
+ * @author Solange U. Gasengayire
+ */
+public final class CascadeLog {
+
+    static final int MAGIC = 0x4c434649;
+    static final int VERSION = 1;
+
+    private static final int ROUND_BASED = 1;
+
+    private final byte[] data;
+    private final int vertexCount;
+    private final boolean roundBased;
+    private final int[] seeds;
+
+    // byte offset of the vertices of each group, and their number
+    private final int[] groupOffsets;
+    private final int[] groupSizes;
+    private final int switchedVertices;
+
+    /**
+     * Create a log from its encoded form, indexing its groups
+     * @param data the encoded log
+     */
+    private CascadeLog(byte[] data) {
+        this.data = data;
+        int[] position = {0};
+        this.vertexCount = readVarint(data, position);
+        this.roundBased = (readVarint(data, position) & ROUND_BASED) != 0;
+        this.seeds = readGroup(data, position, readVarint(data, position));
+
+        int groups = readVarint(data, position);
+        this.groupOffsets = new int[groups];
+        this.groupSizes = new int[groups];
+        int switched = 0;
+        for (int g = 0; g < groups; g++) {
+            int size = readVarint(data, position);
+            groupOffsets[g] = position[0];
+            groupSizes[g] = size;
+            for (int i = 0; i < size; i++) {
+                readVarint(data, position);
+            }
+            switched += size;
+        }
+        if (position[0] != data.length) {
+            throw new IllegalArgumentException("Trailing bytes after the cascade log");
+        }
+        this.switchedVertices = switched;
+    }
+
+    /**
+     * Return a log from its encoded form
+     * @param data the encoded log, as returned by toBytes
+     * @return the log
+     */
+    public static CascadeLog fromBytes(byte[] data) {
+        try {
+            return new CascadeLog(data.clone());
+        } catch (ArrayIndexOutOfBoundsException | NegativeArraySizeException exception) {
+            throw new IllegalArgumentException("Truncated or corrupted cascade log", exception);
+        }
+    }
+
+    /**
+     * Read a log from a file
+     * @param path the file path
+     * @return the log
+     * @throws IOException if the file cannot be read, or is not a cascade log
+     */
+    public static CascadeLog read(Path path) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        if (bytes.length < 8 || buffer.getInt(0) != MAGIC) {
+            throw new IOException(path + " is not a cascade log");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException(path + " has unsupported version " + version);
+        }
+        try {
+            return new CascadeLog(Arrays.copyOfRange(bytes, 8, bytes.length));
+        } catch (RuntimeException exception) {
+            throw new IOException(path + " is truncated or corrupted", exception);
+        }
+    }
+
+    /**
+     * Write this log to a file
+     * @param path the file path
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + data.length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).put(data);
+        Files.write(path, buffer.array());
+    }
+
+    /**
+     * Return the encoded form of this log
+     * @return a copy of the encoded bytes
+     */
+    public byte[] toBytes() {
+        return data.clone();
+    }
+
+    /**
+     * Return the number of vertices of the graph of the run
+     * @return vertex count
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Indicate whether the run propagated in rounds
+     * @return true for a round-based run
+     */
+    public boolean isRoundBased() {
+        return roundBased;
+    }
+
+    /**
+     * Return the seeds of the run, in seeding order
+     * @return the (dense) indices of the seeds
+     */
+    public int[] getSeeds() {
+        return seeds.clone();
+    }
+
+    /**
+     * Return the number of rounds of the run
+     * (the number of cascade levels, for a sequential run)
+     * @return round count
+     */
+    public int getRoundCount() {
+        return groupOffsets.length;
+    }
+
+    /**
+     * Return the vertices switched at a given round
+     * @param round the round number, from 1 to the round count
+     * @return the (dense) indices of the switched vertices
+     */
+    public int[] getRound(int round) {
+        int[] position = {groupOffsets[round - 1]};
+        return readGroup(data, position, groupSizes[round - 1]);
+    }
+
+    /**
+     * Return the total number of switched vertices
+     * @return switched vertex count
+     */
+    public int getSwitchedVertices() {
+        return switchedVertices;
+    }
+
+    /**
+     * Return the size of the encoded log
+     * @return byte count
+     */
+    public int getEncodedSize() {
+        return data.length;
+    }
+
+    /**
+     * Return the vertex states after a given number of rounds
+     * @param rounds the number of rounds (0 for the seeded state)
+     * @return the state of each vertex
+     */
+    public byte[] getStates(int rounds) {
+        byte[] states = new byte[vertexCount];
+        for (int seed : seeds) {
+            states[seed] = CascadeEngine.SEEDED;
+        }
+        for (int round = 1; round <= Math.min(rounds, getRoundCount()); round++) {
+            for (int vertex : getRound(round)) {
+                states[vertex] = CascadeEngine.SWITCHED;
+            }
+        }
+        return states;
+    }
+
+    /**
+     * Replay the whole run to a listener
+     * @param listener the listener (a view, for instance)
+     */
+    public void replay(CascadeListener listener) {
+        replay(listener, getRoundCount());
+    }
+
+    /**
+     * Replay the run up to a given round to a listener,
+     * with the same notifications as the engine
+     * @param listener the listener (a view, for instance)
+     * @param rounds the number of rounds to replay
+     */
+    public void replay(CascadeListener listener, int rounds) {
+        listener.stateReset(vertexCount);
+        listener.runStarted(roundBased ? CascadeEngine.Mode.ROUNDS : CascadeEngine.Mode.SEQUENTIAL);
+        for (int seed : seeds) {
+            listener.vertexSeeded(seed);
+        }
+        listener.seedingFinished();
+
+        int last = Math.min(rounds, getRoundCount());
+        int switched = 0;
+        for (int round = 1; round <= last; round++) {
+            int[] vertices = getRound(round);
+            for (int vertex : vertices) {
+                listener.vertexSwitched(vertex);
+            }
+            switched += vertices.length;
+            listener.roundFinished(round);
+        }
+        listener.cascadeFinished(seeds.length, switched);
+    }
+
+    /**
+     * Encode a run.
+     * The vertices of each group are sorted in place when the run is round-based.
+     * @param vertexCount the vertex count
+     * @param roundBased whether the run propagated in rounds
+     * @param seeds the seeds, in seeding order
+     * @param seedCount the number of seeds
+     * @param switched the switched vertices, group after group
+     * @param groupEnds the end of each group in the switched vertices
+     * @param groupCount the number of groups
+     * @return the log
+     */
+    static CascadeLog encode(int vertexCount, boolean roundBased, int[] seeds, int seedCount,
+                             int[] switched, int[] groupEnds, int groupCount) {
+        // at most 5 bytes per varint
+        int switchedCount = groupCount == 0 ? 0 : groupEnds[groupCount - 1];
+        byte[] bytes = new byte[5 * (4 + seedCount + groupCount + switchedCount)];
+        int position = writeVarint(bytes, 0, vertexCount);
+        position = writeVarint(bytes, position, roundBased ? ROUND_BASED : 0);
+        position = writeVarint(bytes, position, seedCount);
+        position = writeGroup(bytes, position, seeds, 0, seedCount);
+
+        position = writeVarint(bytes, position, groupCount);
+        int start = 0;
+        for (int g = 0; g < groupCount; g++) {
+            int end = groupEnds[g];
+            if (roundBased) {
+                Arrays.sort(switched, start, end);
+            }
+            position = writeVarint(bytes, position, end - start);
+            position = writeGroup(bytes, position, switched, start, end);
+            start = end;
+        }
+        return new CascadeLog(Arrays.copyOf(bytes, position));
+    }
+
+    /**
+     * Write a group of vertex ids as zigzag deltas
+     * @return the position after the last written byte
+     */
+    private static int writeGroup(byte[] bytes, int position, int[] vertices, int start, int end) {
+        int previous = 0;
+        for (int i = start; i < end; i++) {
+            int delta = vertices[i] - previous;
+            position = writeVarint(bytes, position, (delta << 1) ^ (delta >> 31));
+            previous = vertices[i];
+        }
+        return position;
+    }
+
+    /**
+     * Read a group of vertex ids written as zigzag deltas
+     * @return the vertex ids
+     */
+    private static int[] readGroup(byte[] bytes, int[] position, int size) {
+        int[] vertices = new int[size];
+        int previous = 0;
+        for (int i = 0; i < size; i++) {
+            int zigzag = readVarint(bytes, position);
+            previous += (zigzag >>> 1) ^ -(zigzag & 1);
+            vertices[i] = previous;
+        }
+        return vertices;
+    }
+
+    /**
+     * Write an unsigned varint, seven bits per byte
+     * @return the position after the last written byte
+     */
+    private static int writeVarint(byte[] bytes, int position, int value) {
+        while ((value & ~0x7f) != 0) {
+            bytes[position++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        bytes[position++] = (byte) value;
+        return position;
+    }
+
+    /**
+     * Read an unsigned varint, and move the position past it
+     * @return the value
+     */
+    private static int readVarint(byte[] bytes, int[] position) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = bytes[position[0]++];
+            value |= (b & 0x7f) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in the cascade log");
+    }
+
+}
@@ -0,0 +1,201 @@
+package algorithm;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+/**
+ * Measurements of one cascade run.
+ * An engine fills the same instance at each run, so that measuring
+ * allocates nothing: the values are those of the last run only,
+ * and listeners must copy what they keep.
+ * @author Solange U. Gasengayire
+ */
+public final class CascadeMetrics {
+
+    /** Value of the allocated bytes when the JVM cannot measure them */
+    public static final long UNAVAILABLE = -1;
+
+    private int rounds;
+    private int[] frontierSizes = new int[16];
+    private long edgesScanned;
+    private long thresholdEvaluations;
+    private long resetNanos;
+    private long seedNanos;
+    private long propagateNanos;
+    private long allocatedBytes = UNAVAILABLE;
+
+    /**
+     * Return the number of propagation rounds (or levels, in sequential mode)
+     * that switched at least one vertex
+     * @return round count
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Return the size of the frontier of a round, that is the number
+     * of vertices the behavior was propagated from
+     * @param round the round index, starting at 0 for the seeds
+     * @return the frontier size
+     */
+    public int getFrontierSize(int round) {
+        if (round < 0 || round > rounds) {
+            throw new IndexOutOfBoundsException("No such round: " + round);
+        }
+        return frontierSizes[round];
+    }
+
+    /**
+     * Return the sizes of the frontiers of all rounds, seeds first
+     * @return a copy of the frontier sizes
+     */
+    public int[] getFrontierSizes() {
+        return Arrays.copyOf(frontierSizes, rounds + 1);
+    }
+
+    /**
+     * Return the number of edges traversed, to find candidates
+     * and to update the neighbor counters of the adopters
+     * @return edge traversal count
+     */
+    public long getEdgesScanned() {
+        return edgesScanned;
+    }
+
+    /**
+     * Return the number of times the activation rule was evaluated
+     * @return evaluation count
+     */
+    public long getThresholdEvaluations() {
+        return thresholdEvaluations;
+    }
+
+    /**
+     * Return the time spent resetting the state
+     * @return reset time, in nanoseconds
+     */
+    public long getResetNanos() {
+        return resetNanos;
+    }
+
+    /**
+     * Return the time spent seeding
+     * @return seeding time, in nanoseconds
+     */
+    public long getSeedNanos() {
+        return seedNanos;
+    }
+
+    /**
+     * Return the time spent propagating
+     * @return propagation time, in nanoseconds
+     */
+    public long getPropagateNanos() {
+        return propagateNanos;
+    }
+
+    /**
+     * Return the number of bytes the run allocated on its thread.
+     * Allocations are only measured when the engine has metrics listeners.
+     * @return allocated bytes, or UNAVAILABLE
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Return the string representation of these metrics
+     * @return a short summary
+     */
+    @Override
+    public String toString() {
+        return "CascadeMetrics[ rounds: " + rounds
+                + ", edges scanned: " + edgesScanned
+                + ", evaluations: " + thresholdEvaluations
+                + ", reset/seed/propagate (µs): "
+                + resetNanos / 1000 + "/" + seedNanos / 1000 + "/" + propagateNanos / 1000
+                + ", allocated: " + allocatedBytes + " ]";
+    }
+
+    /**
+     * Clear the measurements, before a run
+     */
+    void clear() {
+        rounds = 0;
+        frontierSizes[0] = 0;
+        edgesScanned = 0;
+        thresholdEvaluations = 0;
+        resetNanos = 0;
+        seedNanos = 0;
+        propagateNanos = 0;
+        allocatedBytes = UNAVAILABLE;
+    }
+
+    /**
+     * Record the size of the seed frontier
+     * @param size the number of seeds
+     */
+    void seeded(int size) {
+        frontierSizes[0] = size;
+    }
+
+    /**
+     * Record a round that switched vertices
+     * @param frontierSize the number of vertices switched in the round
+     */
+    void roundFinished(int frontierSize) {
+        if (++rounds == frontierSizes.length) {
+            frontierSizes = Arrays.copyOf(frontierSizes, 2 * rounds);
+        }
+        frontierSizes[rounds] = frontierSize;
+    }
+
+    /**
+     * Record edge traversals and rule evaluations
+     * @param edges the number of edges traversed
+     * @param evaluations the number of rule evaluations
+     */
+    void scanned(long edges, long evaluations) {
+        edgesScanned += edges;
+        thresholdEvaluations += evaluations;
+    }
+
+    /**
+     * Record the duration of each phase of a run
+     * @param start the start time of the run
+     * @param reset the end time of the reset
+     * @param seeded the end time of the seeding
+     * @param end the end time of the run
+     */
+    void phases(long start, long reset, long seeded, long end) {
+        resetNanos = reset - start;
+        seedNanos = seeded - reset;
+        propagateNanos = end - seeded;
+    }
+
+    /**
+     * Record the allocations of a run
+     * @param bytes the number of allocated bytes
+     */
+    void allocated(long bytes) {
+        allocatedBytes = bytes;
+    }
+
+    /**
+     * Return the number of bytes allocated so far by the current thread
+     * @return allocated bytes, or UNAVAILABLE if the JVM cannot measure them
+     */
+    static long threadAllocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+            if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled()) {
+                return hotspot.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return UNAVAILABLE;
+    }
+
+}
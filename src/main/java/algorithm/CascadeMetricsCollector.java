@@ -0,0 +1,183 @@
+package algorithm;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cumulative metrics of cascade runs.
+ * The collector listens to any number of engines, possibly running in
+ * parallel (as in a Monte Carlo batch), and can be published as an MXBean,
+ * so that the platform MBean server shows where time goes on a live process.
+ * @author Solange U. Gasengayire
+ */
+public class CascadeMetricsCollector implements MetricsListener, CascadeMetricsMXBean {
+
+    /** Domain of the registered MBeans */
+    public static final String DOMAIN = "information-flow";
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder rounds = new LongAdder();
+    private final LongAdder edgesScanned = new LongAdder();
+    private final LongAdder thresholdEvaluations = new LongAdder();
+    private final LongAdder resetNanos = new LongAdder();
+    private final LongAdder seedNanos = new LongAdder();
+    private final LongAdder propagateNanos = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final AtomicInteger maxFrontierSize = new AtomicInteger();
+
+    private volatile int[] lastFrontierSizes = new int[0];
+    private volatile long lastPropagateNanos;
+
+    @Override
+    public void runMeasured(CascadeMetrics metrics) {
+        runs.increment();
+        rounds.add(metrics.getRounds());
+        edgesScanned.add(metrics.getEdgesScanned());
+        thresholdEvaluations.add(metrics.getThresholdEvaluations());
+        resetNanos.add(metrics.getResetNanos());
+        seedNanos.add(metrics.getSeedNanos());
+        propagateNanos.add(metrics.getPropagateNanos());
+        if (metrics.getAllocatedBytes() != CascadeMetrics.UNAVAILABLE) {
+            allocatedBytes.add(metrics.getAllocatedBytes());
+        }
+
+        int[] frontierSizes = metrics.getFrontierSizes();
+        int max = 0;
+        for (int size : frontierSizes) {
+            max = Math.max(max, size);
+        }
+        maxFrontierSize.accumulateAndGet(max, Math::max);
+        lastFrontierSizes = frontierSizes;
+        lastPropagateNanos = metrics.getPropagateNanos();
+    }
+
+    /**
+     * Record the loading of a graph
+     * @param nanos the load time, in nanoseconds
+     */
+    public void graphLoaded(long nanos) {
+        loadNanos.add(nanos);
+    }
+
+    /**
+     * Publish these metrics on the platform MBean server
+     * @param name the name of the MBean, unique among the collectors
+     * @return the object name of the MBean
+     */
+    public ObjectName register(String name) {
+        try {
+            ObjectName objectName = objectName(name);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException exception) {
+            throw new IllegalStateException("Cannot register the cascade metrics " + name, exception);
+        }
+    }
+
+    /**
+     * Withdraw a collector from the platform MBean server
+     * @param name the name it was registered under
+     */
+    public static void unregister(String name) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = objectName(name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException exception) {
+            throw new IllegalStateException("Cannot unregister the cascade metrics " + name, exception);
+        }
+    }
+
+    @Override
+    public long getRuns() {
+        return runs.sum();
+    }
+
+    @Override
+    public long getLoadNanos() {
+        return loadNanos.sum();
+    }
+
+    @Override
+    public long getTotalRounds() {
+        return rounds.sum();
+    }
+
+    @Override
+    public long getTotalEdgesScanned() {
+        return edgesScanned.sum();
+    }
+
+    @Override
+    public long getTotalThresholdEvaluations() {
+        return thresholdEvaluations.sum();
+    }
+
+    @Override
+    public long getTotalResetNanos() {
+        return resetNanos.sum();
+    }
+
+    @Override
+    public long getTotalSeedNanos() {
+        return seedNanos.sum();
+    }
+
+    @Override
+    public long getTotalPropagateNanos() {
+        return propagateNanos.sum();
+    }
+
+    @Override
+    public long getTotalAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    @Override
+    public int getMaxFrontierSize() {
+        return maxFrontierSize.get();
+    }
+
+    @Override
+    public int[] getLastFrontierSizes() {
+        return lastFrontierSizes.clone();
+    }
+
+    @Override
+    public long getLastPropagateNanos() {
+        return lastPropagateNanos;
+    }
+
+    @Override
+    public void reset() {
+        runs.reset();
+        loadNanos.reset();
+        rounds.reset();
+        edgesScanned.reset();
+        thresholdEvaluations.reset();
+        resetNanos.reset();
+        seedNanos.reset();
+        propagateNanos.reset();
+        allocatedBytes.reset();
+        maxFrontierSize.set(0);
+        lastFrontierSizes = new int[0];
+        lastPropagateNanos = 0;
+    }
+
+    /**
+     * Return the object name of a collector
+     * @param name the name of the collector
+     * @return its object name
+     */
+    private static ObjectName objectName(String name) throws JMException {
+        return new ObjectName(DOMAIN + ":type=CascadeMetrics,name=" + ObjectName.quote(name));
+    }
+
+}
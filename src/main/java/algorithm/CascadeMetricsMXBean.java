@@ -0,0 +1,88 @@
+package algorithm;
+
+/**
+ * Management interface of the cascade metrics, for JMX clients
+ * such as JConsole or VisualVM
+ * @author Solange U. Gasengayire
+ * @see CascadeMetricsCollector
+ */
+public interface CascadeMetricsMXBean {
+
+    /**
+     * Return the number of measured runs
+     * @return run count
+     */
+    long getRuns();
+
+    /**
+     * Return the total time spent loading graphs
+     * @return load time, in nanoseconds
+     */
+    long getLoadNanos();
+
+    /**
+     * Return the total number of rounds
+     * @return round count
+     */
+    long getTotalRounds();
+
+    /**
+     * Return the total number of edge traversals
+     * @return edge traversal count
+     */
+    long getTotalEdgesScanned();
+
+    /**
+     * Return the total number of rule evaluations
+     * @return evaluation count
+     */
+    long getTotalThresholdEvaluations();
+
+    /**
+     * Return the total time spent resetting the state
+     * @return reset time, in nanoseconds
+     */
+    long getTotalResetNanos();
+
+    /**
+     * Return the total time spent seeding
+     * @return seeding time, in nanoseconds
+     */
+    long getTotalSeedNanos();
+
+    /**
+     * Return the total time spent propagating
+     * @return propagation time, in nanoseconds
+     */
+    long getTotalPropagateNanos();
+
+    /**
+     * Return the total number of bytes allocated by the runs
+     * @return allocated bytes
+     */
+    long getTotalAllocatedBytes();
+
+    /**
+     * Return the largest frontier seen in a round
+     * @return the largest frontier size
+     */
+    int getMaxFrontierSize();
+
+    /**
+     * Return the frontier sizes of the last run, seeds first
+     * @return the frontier sizes
+     */
+    int[] getLastFrontierSizes();
+
+    /**
+     * Return the propagation time of the last run
+     * @return propagation time, in nanoseconds
+     */
+    long getLastPropagateNanos();
+
+    /**
+     * Clear all the cumulative metrics
+     */
+    void reset();
+
+}
@@ -0,0 +1,90 @@
+package algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Listener recording each run of an engine into a cascade log.
+ * While a run goes on, vertex ids are only appended to growable arrays,
+ * reused from run to run; they are encoded once, when the cascade stops.
+ * The mode of a run is recorded when it starts: the re-evaluations that
+ * follow edge updates propagate in rounds, whatever the mode of the run.
+ * @see CascadeLog
+ * @author Solange U. Gasengayire
+ */
+public class CascadeRecorder implements CascadeListener {
+
+    private int vertexCount;
+    private boolean roundBased;
+
+    private int[] seeds = new int[16];
+    private int seedCount;
+    private int[] switched = new int[16];
+    private int switchedCount;
+    private int[] groupEnds = new int[16];
+    private int groupCount;
+
+    private CascadeLog log;
+
+    @Override
+    public void stateReset(int vertexCount) {
+        this.vertexCount = vertexCount;
+        seedCount = 0;
+        switchedCount = 0;
+        groupCount = 0;
+    }
+
+    @Override
+    public void runStarted(CascadeEngine.Mode mode) {
+        roundBased = mode == CascadeEngine.Mode.ROUNDS;
+    }
+
+    @Override
+    public void vertexSeeded(int vertex) {
+        if (seedCount == seeds.length) {
+            seeds = Arrays.copyOf(seeds, 2 * seedCount);
+        }
+        seeds[seedCount++] = vertex;
+    }
+
+    @Override
+    public void vertexSwitched(int vertex) {
+        if (switchedCount == switched.length) {
+            switched = Arrays.copyOf(switched, 2 * switchedCount);
+        }
+        switched[switchedCount++] = vertex;
+    }
+
+    @Override
+    public void roundFinished(int round) {
+        endGroup();
+    }
+
+    @Override
+    public void cascadeFinished(int seeded, int switched) {
+        // close the switches no round has closed
+        if (switchedCount > (groupCount == 0 ? 0 : groupEnds[groupCount - 1])) {
+            endGroup();
+        }
+        log = CascadeLog.encode(vertexCount, roundBased, seeds, seedCount,
+                                this.switched, groupEnds, groupCount);
+    }
+
+    /**
+     * Return the log of the last finished run
+     * @return the log, or null if no run has finished yet
+     */
+    public CascadeLog getLog() {
+        return log;
+    }
+
+    /**
+     * Close the current group of switched vertices
+     */
+    private void endGroup() {
+        if (groupCount == groupEnds.length) {
+            groupEnds = Arrays.copyOf(groupEnds, 2 * groupCount);
+        }
+        groupEnds[groupCount++] = switchedCount;
+    }
+
+}
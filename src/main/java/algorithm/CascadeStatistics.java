@@ -0,0 +1,126 @@
+package algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Aggregated results of a batch of cascade simulations
+ * @author Solange U. Gasengayire
+ */
+public class CascadeStatistics {
+
+    private final int[] switched;
+    private final int[] depths;
+    private final int completeCascades;
+
+    /**
+     * Create new statistics from per-trial results
+     * @param switched the switched vertex count of each trial
+     * @param depths the cascade depth of each trial
+     * @param completeCascades the number of trials that ended in a complete cascade
+     */
+    CascadeStatistics(int[] switched, int[] depths, int completeCascades) {
+        this.switched = switched.clone();
+        this.depths = depths.clone();
+        this.completeCascades = completeCascades;
+        Arrays.sort(this.switched);
+        Arrays.sort(this.depths);
+    }
+
+    /**
+     * Return the number of trials
+     * @return trial count
+     */
+    public int getTrials() {
+        return switched.length;
+    }
+
+    /**
+     * Return the mean switched vertex count
+     * @return mean switched count
+     */
+    public double getMeanSwitched() {
+        return mean(switched);
+    }
+
+    /**
+     * Return a percentile of the switched vertex count
+     * @param percentile the percentile, between 0 and 100
+     * @return the switched count at that percentile
+     */
+    public int getSwitchedPercentile(double percentile) {
+        return percentile(switched, percentile);
+    }
+
+    /**
+     * Return the mean cascade depth
+     * @return mean depth
+     */
+    public double getMeanDepth() {
+        return mean(depths);
+    }
+
+    /**
+     * Return a percentile of the cascade depth
+     * @param percentile the percentile, between 0 and 100
+     * @return the depth at that percentile
+     */
+    public int getDepthPercentile(double percentile) {
+        return percentile(depths, percentile);
+    }
+
+    /**
+     * Return the fraction of trials that ended in a complete cascade
+     * @return complete cascade probability
+     */
+    public double getCompleteCascadeProbability() {
+        return switched.length == 0 ? 0 : ((double) completeCascades) / switched.length;
+    }
+
+    /**
+     * Return the string representation of these statistics
+     * @return a short summary
+     */
+    @Override
+    public String toString() {
+        return "CascadeStatistics[ trials: " + getTrials()
+                + ", switched mean/p50/p90/p99: "
+                + String.format("%.2f", getMeanSwitched()) + "/"
+                + getSwitchedPercentile(50) + "/"
+                + getSwitchedPercentile(90) + "/"
+                + getSwitchedPercentile(99)
+                + ", depth mean/p50/p99: "
+                + String.format("%.2f", getMeanDepth()) + "/"
+                + getDepthPercentile(50) + "/"
+                + getDepthPercentile(99)
+                + ", complete: " + String.format("%.4f", getCompleteCascadeProbability()) + " ]";
+    }
+
+    /**
+     * Return the mean of some values
+     */
+    private static double mean(int[] values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        long sum = 0;
+        for (int value : values) {
+            sum += value;
+        }
+        return ((double) sum) / values.length;
+    }
+
+    /**
+     * Return a percentile of sorted values (nearest-rank method)
+     */
+    private static int percentile(int[] sorted, double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)];
+    }
+
+}
@@ -0,0 +1,369 @@
+package algorithm;
+
+import graph.DynamicGraph;
+import graph.IndexedGraph;
+
+import java.util.SplittableRandom;
+
+/**
+ * Independent cascade model: when a vertex becomes active, it gets one
+ * chance to activate each of its inactive neighbors, succeeding with the
+ * probability of the edge between them.
+ * <p>
+ * The simulator runs 64 independent worlds at once. The activation of a
+ * vertex in each world is a bit of a long mask, so that one traversal of
+ * the frontier advances all the worlds: an edge is scanned once for all
+ * the worlds its origin has just been activated in, and its coin flips
+ * for those worlds are drawn as a single mask. A probability is a fixed
+ * point number of PRECISION bits b1..bk, and a mask whose bits are set with
+ * that probability takes one random long per bit, from the least significant
+ * one: m = (bit ? m | r : m &amp; r). Fewer candidate worlds than that are
+ * flipped one at a time.
+ * <p>
+ * The gain depends on how much the worlds overlap: it is largest for the
+ * small spreads of influence estimation, where all the worlds activate
+ * the surroundings of the seeds, and vanishes near the critical probability,
+ * where each world wanders off on its own.
+ * <p>
+ * A simulator holds the state of a batch, so it must not be shared
+ * by concurrent threads.
+ * @author Solange U. Gasengayire
+ */
+public final class IndependentCascade {
+
+    /** Number of worlds simulated at once */
+    public static final int WORLDS = Long.SIZE;
+
+    /** Number of bits of the edge probabilities */
+    public static final int PRECISION = 24;
+
+    private static final int ONE = 1 << PRECISION;
+
+    private final IndexedGraph graph;
+
+    // fixed point edge probabilities: one for all edges, or one per edge position
+    private final int probability;
+    private final int[] probabilities;
+
+    // active worlds of each vertex, and worlds it was activated in during
+    // the current and next rounds
+    private final long[] active;
+    private final long[] fresh;
+    private final long[] next;
+
+    // vertices of the current and next frontiers, and of the batch
+    private int[] frontier;
+    private int[] nextFrontier;
+    private final int[] touched;
+    private int touchedCount;
+
+    /**
+     * Create a new simulator with the same probability for every edge
+     * @param graph the graph at hand
+     * @param probability the activation probability of an edge
+     */
+    public IndependentCascade(IndexedGraph graph, double probability) {
+        this(graph, toFixedPoint(probability), null);
+    }
+
+    /**
+     * Create a new simulator with a probability per edge.
+     * Edge positions of a dynamic graph change with each update,
+     * hence such graphs are not supported.
+     * @param graph the graph at hand
+     * @param probabilities the activation probability of each edge position:
+     *                      at a position e of the row of u, the probability
+     *                      that u activates target(e)
+     */
+    public IndependentCascade(IndexedGraph graph, float[] probabilities) {
+        this(graph, 0, toFixedPoint(graph, probabilities));
+    }
+
+    /**
+     * Create a new simulator
+     * @param graph the graph at hand
+     * @param probability the fixed point probability of every edge
+     * @param probabilities the fixed point probability of each edge position, or null
+     */
+    private IndependentCascade(IndexedGraph graph, int probability, int[] probabilities) {
+        this.graph = graph;
+        this.probability = probability;
+        this.probabilities = probabilities;
+        int count = graph.vertexCount();
+        this.active = new long[count];
+        this.fresh = new long[count];
+        this.next = new long[count];
+        this.frontier = new int[count];
+        this.nextFrontier = new int[count];
+        this.touched = new int[count];
+    }
+
+    /**
+     * Run independent trials from a seed set, 64 at a time
+     * @param seeds the (dense) indices of the seeded vertices
+     * @param trials the number of trials
+     * @param seed the seed of the trials
+     * @return the aggregated results: the switched count of a trial
+     *         is the number of vertices activated besides the seeds
+     */
+    public CascadeStatistics simulate(int[] seeds, int trials, long seed) {
+        if (trials <= 0) {
+            throw new IllegalArgumentException("Trial count must be positive: " + trials);
+        }
+        int[] switched = new int[trials];
+        int[] depths = new int[trials];
+        int complete = 0;
+        SplittableRandom random = new SplittableRandom(seed);
+
+        for (int first = 0; first < trials; first += WORLDS) {
+            int worlds = Math.min(WORLDS, trials - first);
+            long worldMask = worlds == WORLDS ? -1L : (1L << worlds) - 1;
+            int seedCount = seed(seeds, worldMask);
+            propagateInRounds(seedCount, random, depths, first);
+
+            // count the activations of each world
+            for (int i = 0; i < touchedCount; i++) {
+                long worldsOfVertex = active[touched[i]];
+                while (worldsOfVertex != 0) {
+                    switched[first + Long.numberOfTrailingZeros(worldsOfVertex)]++;
+                    worldsOfVertex &= worldsOfVertex - 1;
+                }
+            }
+            for (int world = first; world < first + worlds; world++) {
+                switched[world] -= seedCount;
+                if (switched[world] + seedCount == graph.vertexCount()) {
+                    complete++;
+                }
+            }
+        }
+        clear();
+        return new CascadeStatistics(switched, depths, complete);
+    }
+
+    /**
+     * Return the expected number of active vertices (seeds included)
+     * @param seeds the (dense) indices of the seeded vertices
+     * @param trials the number of trials
+     * @param seed the seed of the trials
+     * @return the mean spread over the trials
+     */
+    public double estimateSpread(int[] seeds, int trials, long seed) {
+        if (trials <= 0) {
+            throw new IllegalArgumentException("Trial count must be positive: " + trials);
+        }
+        long total = 0;
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int first = 0; first < trials; first += WORLDS) {
+            int worlds = Math.min(WORLDS, trials - first);
+            long worldMask = worlds == WORLDS ? -1L : (1L << worlds) - 1;
+            propagate(seed(seeds, worldMask), random);
+            for (int i = 0; i < touchedCount; i++) {
+                total += Long.bitCount(active[touched[i]]);
+            }
+        }
+        clear();
+        return ((double) total) / trials;
+    }
+
+    /**
+     * Clear the state of the previous batch, and activate the seeds
+     * of a new one, in the frontier
+     * @param seeds the seeded vertices
+     * @param worldMask the worlds of the batch
+     * @return the number of distinct seeds
+     */
+    private int seed(int[] seeds, long worldMask) {
+        clear();
+        int size = 0;
+        for (int vertex : seeds) {
+            if (active[vertex] == 0) {
+                active[vertex] = worldMask;
+                fresh[vertex] = worldMask;
+                frontier[size++] = vertex;
+                touched[touchedCount++] = vertex;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Propagate the activations of a batch of worlds from the frontier, with a
+     * work queue. Worlds are not kept in step: a vertex waiting in the queue
+     * collects the activations of all the worlds that reach it in the meantime,
+     * and its edges are scanned once for all of them. The final state does not
+     * depend on the order of the coin flips, since each edge is flipped once
+     * per world, but the depths of the worlds are lost.
+     * @param size the number of vertices in the frontier
+     * @param random the random generator
+     */
+    private void propagate(int size, SplittableRandom random) {
+        // a vertex is queued when it has fresh worlds, so it is queued once at most
+        int[] queue = frontier;
+        int capacity = queue.length;
+        int head = 0;
+        while (size > 0) {
+            int current = queue[head];
+            head = head + 1 == capacity ? 0 : head + 1;
+            size--;
+            long worlds = fresh[current];
+            fresh[current] = 0;
+            for (long e = graph.rowStart(current); e < graph.rowEnd(current); e++) {
+                int node = graph.target(e);
+                long candidates = worlds & ~active[node];
+                if (candidates == 0) {
+                    continue;
+                }
+                long fired = flip(candidates,
+                                  probabilities == null ? probability : probabilities[(int) e], random);
+                if (fired != 0) {
+                    if (active[node] == 0) {
+                        touched[touchedCount++] = node;
+                    }
+                    if (fresh[node] == 0) {
+                        int tail = head + size;
+                        queue[tail >= capacity ? tail - capacity : tail] = node;
+                        size++;
+                    }
+                    active[node] |= fired;
+                    fresh[node] |= fired;
+                }
+            }
+        }
+    }
+
+    /**
+     * Propagate the activations of a batch of worlds from the frontier,
+     * round by round, the worlds being kept in step
+     * @param size the number of vertices in the frontier
+     * @param random the random generator
+     * @param depths the depth of each world, filled from the offset
+     * @param offset the index of the first world of the batch in depths
+     */
+    private void propagateInRounds(int size, SplittableRandom random, int[] depths, int offset) {
+        int round = 0;
+        while (size > 0) {
+            int nextSize = 0;
+            long reached = 0;
+            for (int i = 0; i < size; i++) {
+                int current = frontier[i];
+                long worlds = fresh[current];
+                fresh[current] = 0;
+                for (long e = graph.rowStart(current); e < graph.rowEnd(current); e++) {
+                    int node = graph.target(e);
+                    long candidates = worlds & ~active[node] & ~next[node];
+                    if (candidates == 0) {
+                        continue;
+                    }
+                    long fired = flip(candidates,
+                                      probabilities == null ? probability : probabilities[(int) e], random);
+                    if (fired != 0) {
+                        if (next[node] == 0) {
+                            nextFrontier[nextSize++] = node;
+                        }
+                        next[node] |= fired;
+                    }
+                }
+            }
+
+            // the activations of the round take effect together
+            for (int i = 0; i < nextSize; i++) {
+                int node = nextFrontier[i];
+                if (active[node] == 0) {
+                    touched[touchedCount++] = node;
+                }
+                active[node] |= next[node];
+                fresh[node] = next[node];
+                reached |= next[node];
+                next[node] = 0;
+            }
+
+            // a world is as deep as its last round with an activation
+            round++;
+            while (reached != 0) {
+                depths[offset + Long.numberOfTrailingZeros(reached)] = round;
+                reached &= reached - 1;
+            }
+
+            int[] swap = frontier;
+            frontier = nextFrontier;
+            nextFrontier = swap;
+            size = nextSize;
+        }
+    }
+
+    /**
+     * Clear the state of the vertices activated in the last batch
+     */
+    private void clear() {
+        for (int i = 0; i < touchedCount; i++) {
+            active[touched[i]] = 0;
+        }
+        touchedCount = 0;
+    }
+
+    /**
+     * Flip a biased coin in each candidate world
+     * @param candidates the candidate worlds
+     * @param probability the fixed point probability of heads
+     * @param random the random generator
+     * @return the worlds where the coin landed heads
+     */
+    private static long flip(long candidates, int probability, SplittableRandom random) {
+        if (probability >= ONE) {
+            return candidates;
+        }
+        if (probability == 0) {
+            return 0;
+        }
+        int low = Integer.numberOfTrailingZeros(probability);
+        if (Long.bitCount(candidates) < PRECISION - low) {
+            // few candidates: one coin at a time
+            long fired = 0;
+            for (long remaining = candidates; remaining != 0; remaining &= remaining - 1) {
+                if ((random.nextInt() >>> (Integer.SIZE - PRECISION)) < probability) {
+                    fired |= Long.lowestOneBit(remaining);
+                }
+            }
+            return fired;
+        }
+        long mask = 0;
+        for (int bit = low; bit < PRECISION; bit++) {
+            long r = random.nextLong();
+            mask = ((probability >>> bit) & 1) != 0 ? mask | r : mask & r;
+        }
+        return mask & candidates;
+    }
+
+    /**
+     * Convert edge probabilities to fixed point numbers
+     * @param graph the graph at hand
+     * @param probabilities the probability of each edge position
+     * @return their fixed point values
+     */
+    private static int[] toFixedPoint(IndexedGraph graph, float[] probabilities) {
+        if (graph instanceof DynamicGraph) {
+            throw new IllegalArgumentException("Edge probabilities require a static graph");
+        }
+        if (probabilities.length != graph.arcCount()) {
+            throw new IllegalArgumentException("One probability per edge expected");
+        }
+        int[] fixed = new int[probabilities.length];
+        for (int e = 0; e < probabilities.length; e++) {
+            fixed[e] = toFixedPoint(probabilities[e]);
+        }
+        return fixed;
+    }
+
+    /**
+     * Convert a probability to a fixed point number
+     * @param probability the probability
+     * @return its fixed point value
+     */
+    private static int toFixedPoint(double probability) {
+        if (! (probability >= 0 && probability <= 1)) {
+            throw new IllegalArgumentException("Probability must be between 0 and 1: " + probability);
+        }
+        return (int) Math.round(probability * ONE);
+    }
+
+}
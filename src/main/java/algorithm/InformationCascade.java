@@ -1,231 +1,150 @@
 package algorithm;
 
-import org.graphstream.algorithm.Algorithm;
-import org.graphstream.graph.Graph;
-import org.graphstream.graph.Node;
-import org.graphstream.graph.implementations.SingleNode;
+import graph.IndexedGraph;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * Information cascade simulation algorithm
+ * Information cascade simulation algorithm.
+ * This is the application entry point to the headless
+ * @see CascadeEngine
  * @author Solange U. Gasengayire
  */
-public class InformationCascade implements Algorithm {
+public class InformationCascade {
 
-    private graph.Graph graph;
+    private CascadeEngine engine;
+    private final CascadeRecorder recorder = new CascadeRecorder();
+    private final List<CascadeListener> listeners = new ArrayList<>();
+    private final List<MetricsListener> metricsListeners = new ArrayList<>();
 
     private int rewardA = 1;
     private int rewardB = 1;
-    private int seededVertices;
-    private int switchedVertices;
 
     /**
      * Initialize the graph on which
      * this algorithm will work
      * @param graph the graph at hand
      */
-    @Override
-    public void init(Graph graph) {
-        this.graph = (graph.Graph) graph;
+    public void init(IndexedGraph graph) {
+        engine = new CascadeEngine(graph);
+        engine.addListener(recorder);
+        for (CascadeListener listener : listeners) {
+            engine.addListener(listener);
+        }
+        for (MetricsListener listener : metricsListeners) {
+            engine.addMetricsListener(listener);
+        }
     }
 
     /**
      * Computing step
      */
-    @Override
     public void compute() {
-        runSimulations();
+        engine.setRewardA(rewardA);
+        engine.setRewardB(rewardB);
+        engine.run();
     }
 
     /**
-     * Return the total node count of this graph
-     * @return total node count
+     * Return the log of the last simulation
+     * @return the log, or null if no simulation has finished yet
      */
-    public int getTotalVertices() {
-        return graph.getNodeCount();
+    public CascadeLog getLog() {
+        return recorder.getLog();
     }
 
     /**
-     * Return the seeded node count
-     * @return seeded node count
+     * Replay the last simulation up to a given round to the listeners,
+     * so that they can step through it or scrub it
+     * @param rounds the number of rounds to replay (0 for the seeded state)
      */
-    public int getSeededVertices() {
-        return seededVertices;
+    public void replay(int rounds) {
+        CascadeLog log = recorder.getLog();
+        if (log == null) {
+            return;
+        }
+        for (CascadeListener listener : listeners) {
+            log.replay(listener, rounds);
+        }
     }
 
     /**
-     * Return the switched node count
-     * @return switched node count
+     * Register a listener (a view, for instance) to follow the simulations
+     * @param listener the listener to add
      */
-    public int getSwitchedVertices() {
-        return switchedVertices;
+    public void addListener(CascadeListener listener) {
+        listeners.add(listener);
+        if (engine != null) {
+            engine.addListener(listener);
+        }
     }
 
     /**
-     * Update the rewardA value
-     * @param rewardA the new value
+     * Register a listener to receive the measurements of each simulation
+     * @param listener the listener to add
      */
-    public void setRewardA(int rewardA) {
-        this.rewardA = rewardA;
+    public void addMetricsListener(MetricsListener listener) {
+        metricsListeners.add(listener);
+        if (engine != null) {
+            engine.addMetricsListener(listener);
+        }
     }
 
     /**
-     * Update the rewardB value
-     * @param rewardB the new value
+     * Return the measurements of the last simulation
+     * @return the metrics of the last run
      */
-    public void setRewardB(int rewardB) {
-        this.rewardB = rewardB;
+    public CascadeMetrics getMetrics() {
+        return engine.getMetrics();
     }
 
     /**
-     * Behavior cascade simulation algorithm
+     * Return the engine running the simulations
+     * @return the cascade engine
      */
-    private void runSimulations() {
-        /*
-         * Example to help formalize our model
-         * ***********************************
-         * For two vertices v and w that are neighbors:
-         *  → if v and w both decide to work for Apple, they get reward a
-         *  → if v and w both decide to work for Microsoft, they get reward b
-         *  → if v and w use apply at different companies, they get no reward
-         *
-         * So, the question becomes: when should a vertex switch the company to apply for?
-         *  →       p : the fraction of v's neighbors that apply at Apple
-         *  → (1 - p) : the fraction of v's neighbors that apply at Microsoft
-         *  → v should switch to Apple if p > [b / (a + b)]
-         * */
-
-        // Reinitialize the state of the graph
-        resetState();
-        // A short pause to actually visualize the initial state of the graph
-        sleep(1000);
-
-        // Value that determines whether a vertex should switch
-        double threshold = ((double) rewardB) / ((double) (rewardA + rewardB));
-
-        // A list of vertices that have switched
-        Queue<SingleNode> switched = new LinkedList<>();
-
-        // A list of vertices that will switch at each iteration
-        List<SingleNode> toSwitch = new LinkedList<>();
-
-        // A list of all visited vertices
-        HashSet<SingleNode> visited = new HashSet<>();
-
-        // Start with randomly choosen nodes
-        switched.addAll(getRandomSeededVertices());
-        sleep(1000);
-
-        while (! switched.isEmpty()) {
-
-            SingleNode current = switched.poll();
-
-            // determine which neighbors should switch
-            Iterator<SingleNode> neighbors = current.getNeighborNodeIterator();
-            while (neighbors.hasNext()) {
-                SingleNode node = neighbors.next();
-
-                String attr = node.getAttribute("ui.class").toString();
-                boolean hasSwitched =  "switched".equals(attr) || "seeded".equals(attr);
-                if (! visited.contains(node) && ! hasSwitched) {
-                    double prob = computeSwitchingProbability(node);
-
-                    if (prob > threshold) {
-                        toSwitch.add(node);
-                    }
-                }
-
-                // keep track of all the neighbors that were visited
-                visited.add(node);
-            }
-
-            // make all the changes (vertices that have switched)
-            for (SingleNode vertex: toSwitch) {
-                vertex.setAttribute("ui.class", "switched");
-                sleep(100);
-                switched.add(vertex);
-                switchedVertices++;
-            }
-
-            // clear this list before running next iteration
-            toSwitch.clear();
-        }
+    public CascadeEngine getEngine() {
+        return engine;
     }
 
     /**
-     * Return a randomly chosen seeded vertices list
-     * for simulations purposes
-     * @return a list of randomly chosen nodes
+     * Return the total node count of this graph
+     * @return total node count
      */
-    private List<SingleNode> getRandomSeededVertices() {
-        List<SingleNode> nodes = new LinkedList<>();
-        int limit = (graph.getNodeSet().size() + 1) / 10;
-        int start = (int) (Math.random() * graph.getNodeCount());
-
-        for (int i = start; i < start + limit; i++) {
-            SingleNode vertex = graph.getNode(i);
-            if (vertex != null) {
-                vertex.setAttribute("ui.class", "seeded");
-                sleep(10);
-                nodes.add(vertex);
-                seededVertices++;
-            }
-        }
-
-        return nodes;
+    public int getTotalVertices() {
+        return engine.getTotalVertices();
     }
 
     /**
-     * Compute the switching probability of a given node
-     * This is equivalent to the fraction of this vertex neighbors
-     * who have switched over the total number of this vertex neighbors
-     * @param vertex the node at hand
-     * @return the switching probability
+     * Return the seeded node count
+     * @return seeded node count
      */
-    private double computeSwitchingProbability(SingleNode vertex) {
-        int switchedNeighbors = 0;
-        double totalNeighbors = (double) vertex.getDegree();
-
-        Iterator<SingleNode> neighbors = vertex.getNeighborNodeIterator();
-        while(neighbors.hasNext()) {
-            SingleNode neighbor = neighbors.next();
-            String attr = neighbor.getAttribute("ui.class").toString();
-            boolean toSwitch = "seeded".equals(attr) || "switched".equals(attr);
-            if (toSwitch) {
-                switchedNeighbors++;
-            }
-        }
+    public int getSeededVertices() {
+        return engine.getSeededVertices();
+    }
 
-        double prob;
-        prob = ((double) switchedNeighbors) / totalNeighbors;
-        return prob;
+    /**
+     * Return the switched node count
+     * @return switched node count
+     */
+    public int getSwitchedVertices() {
+        return engine.getSwitchedVertices();
     }
 
     /**
-     * Reset to initial state.
-     * This method is called before each simulation.
+     * Update the rewardA value
+     * @param rewardA the new value
      */
-    private void resetState() {
-        for (Node node: graph.getNodeSet()) {
-            node.removeAttribute("ui.class");
-            node.setAttribute("ui.class", "default");
-        }
-        seededVertices = 0;
-        switchedVertices = 0;
+    public void setRewardA(int rewardA) {
+        this.rewardA = rewardA;
     }
 
     /**
-     * This utility method is used to help gradually visualize
-     * the way information flows within the graph. For example,
-     * it is used to introduce a short "pause" right after a vertex has switched.
+     * Update the rewardB value
+     * @param rewardB the new value
      */
-    private void sleep(int time) {
-        try {
-            Thread.sleep(time);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+    public void setRewardB(int rewardB) {
+        this.rewardB = rewardB;
     }
 
 }
@@ -0,0 +1,114 @@
+package algorithm;
+
+import graph.DynamicGraph;
+import graph.IndexedGraph;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Linear threshold model (Kempe, Kleinberg and Tardos).
+ * Each vertex v draws a threshold uniformly in [0, 1) at the start of
+ * every run, and adopts once the total influence of its adopting neighbors
+ * reaches it. The influence of u on v is b(u, v), the incoming influences
+ * of a vertex summing to 1 at most. A vertex with no adopting neighbor never
+ * adopts, whatever its threshold: not even once edge deletions isolate it.
+ * <p>
+ * Without edge weights, b(u, v) is 1 / degree(v): the rule then only needs
+ * the neighbor counters of the engine, and follows edge updates on a dynamic
+ * graph. With edge weights, given by edge position as for the
+ * weighted threshold rule, the graph must be static.
+ * @author Solange U. Gasengayire
+ * @see WeightedThresholdRule
+ */
+public final class LinearThresholdRule implements ActivationRule {
+
+    private static final double WEIGHT_TOLERANCE = 1e-6;
+
+    // edge weights, and influence of the adopting neighbors of each vertex
+    // (both null for uniform influences)
+    private final float[] weights;
+    private final double[] influence;
+    private final double[] thresholds;
+
+    /**
+     * Create a new rule with uniform influences
+     * @param graph the graph at hand
+     */
+    public LinearThresholdRule(IndexedGraph graph) {
+        this.weights = null;
+        this.influence = null;
+        this.thresholds = new double[graph.vertexCount()];
+    }
+
+    /**
+     * Create a new rule with weighted influences
+     * @param graph the graph at hand
+     * @param weights the weight of each edge position: at a position e
+     *                of the row of u, the influence of u on target(e)
+     */
+    public LinearThresholdRule(IndexedGraph graph, float[] weights) {
+        if (graph instanceof DynamicGraph) {
+            throw new IllegalArgumentException("Edge weights require a static graph");
+        }
+        if (weights.length != graph.arcCount()) {
+            throw new IllegalArgumentException("One weight per edge expected");
+        }
+        double[] incoming = new double[graph.vertexCount()];
+        for (int e = 0; e < weights.length; e++) {
+            if (weights[e] < 0) {
+                throw new IllegalArgumentException("Weights must not be negative: " + weights[e]);
+            }
+            incoming[graph.target(e)] += weights[e];
+        }
+        for (int v = 0; v < incoming.length; v++) {
+            if (incoming[v] > 1 + WEIGHT_TOLERANCE) {
+                throw new IllegalArgumentException("Incoming weights of vertex "
+                        + graph.originalId(v) + " sum to more than 1: " + incoming[v]);
+            }
+        }
+        this.weights = weights;
+        this.influence = new double[graph.vertexCount()];
+        this.thresholds = new double[graph.vertexCount()];
+    }
+
+    /**
+     * Return the threshold a vertex has drawn for the current run
+     * @param vertex the vertex index
+     * @return its threshold
+     */
+    public double getThreshold(int vertex) {
+        return thresholds[vertex];
+    }
+
+    @Override
+    public void prepare(IndexedGraph graph, SplittableRandom random) {
+        for (int v = 0; v < thresholds.length; v++) {
+            thresholds[v] = random.nextDouble();
+        }
+        if (influence != null) {
+            Arrays.fill(influence, 0);
+        }
+    }
+
+    @Override
+    public void adopted(IndexedGraph graph, int vertex) {
+        if (influence != null) {
+            for (int e = graph.edgeStart(vertex); e < graph.edgeEnd(vertex); e++) {
+                influence[graph.target(e)] += weights[e];
+            }
+        }
+    }
+
+    @Override
+    public boolean shouldActivate(IndexedGraph graph, int vertex, int adoptedNeighbors) {
+        if (adoptedNeighbors == 0) {
+            return false;
+        }
+        if (influence == null) {
+            return adoptedNeighbors >= thresholds[vertex] * graph.degree(vertex);
+        }
+        return influence[vertex] >= thresholds[vertex];
+    }
+
+}
@@ -0,0 +1,18 @@
+package algorithm;
+
+/**
+ * Receiver of the measurements of cascade runs
+ * @author Solange U. Gasengayire
+ */
+@FunctionalInterface
+public interface MetricsListener {
+
+    /**
+     * Called at the end of each run.
+     * Engines running in parallel may call this concurrently.
+     * @param metrics the measurements of the run, valid until the
+     *                next run of the same engine
+     */
+    void runMeasured(CascadeMetrics metrics);
+
+}
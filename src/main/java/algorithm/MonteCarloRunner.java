@@ -0,0 +1,160 @@
+package algorithm;
+
+import graph.IndexedGraph;
+
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Batch runner of independent cascade simulations.
+ * Trials run in parallel on a fork-join pool over a shared, read-only graph:
+ * each trial borrows a cascade engine (and so its own state arrays) from the
+ * idle engines of the runner, and gets its own random generator, derived
+ * from the batch seed. Results are thus reproducible, whatever the
+ * scheduling of the trials. Engines are reused from batch to batch, and no
+ * more are created than trials run at the same time.
+ * @author Solange U. Gasengayire
+ */
+public class MonteCarloRunner {
+
+    private final IndexedGraph graph;
+    private final ForkJoinPool pool;
+
+    private CascadeEngine.Mode mode = CascadeEngine.Mode.SEQUENTIAL;
+    private int rewardA = 1;
+    private int rewardB = 1;
+    private Supplier<? extends ActivationRule> rules;
+    private MetricsListener metricsListener;
+
+    // idle engines, configured with the current settings
+    private final Queue<CascadeEngine> engines = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Create a new runner using the common fork-join pool
+     * @param graph the graph at hand
+     */
+    public MonteCarloRunner(IndexedGraph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new runner
+     * @param graph the graph at hand
+     * @param pool the pool running the trials
+     */
+    public MonteCarloRunner(IndexedGraph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    /**
+     * Update the propagation semantics of the trials
+     * @param mode the new mode
+     */
+    public void setMode(CascadeEngine.Mode mode) {
+        this.mode = mode;
+        engines.clear();
+    }
+
+    /**
+     * Update the rewardA value
+     * @param rewardA the new value
+     */
+    public void setRewardA(int rewardA) {
+        this.rewardA = rewardA;
+        engines.clear();
+    }
+
+    /**
+     * Update the rewardB value
+     * @param rewardB the new value
+     */
+    public void setRewardB(int rewardB) {
+        this.rewardB = rewardB;
+        engines.clear();
+    }
+
+    /**
+     * Update the activation rule of the trials.
+     * Rules hold the state of a run, so each engine gets its own.
+     * @param rules the factory of the rule of each engine,
+     *              or null for the reward-based default rule
+     */
+    public void setActivationRules(Supplier<? extends ActivationRule> rules) {
+        this.rules = rules;
+        engines.clear();
+    }
+
+    /**
+     * Update the listener of the measurements of the trials.
+     * Trials run in parallel, so the listener must be thread-safe.
+     * @param listener the new listener (a metrics collector, for instance), or null
+     */
+    public void setMetricsListener(MetricsListener listener) {
+        this.metricsListener = listener;
+        engines.clear();
+    }
+
+    /**
+     * Run a batch of independent trials
+     * @param trials the number of trials
+     * @param seed the seed of the batch
+     * @return the aggregated results
+     */
+    public CascadeStatistics run(int trials, long seed) {
+        if (trials <= 0) {
+            throw new IllegalArgumentException("Trial count must be positive: " + trials);
+        }
+
+        long[] seeds = new long[trials];
+        SplittableRandom root = new SplittableRandom(seed);
+        for (int i = 0; i < trials; i++) {
+            seeds[i] = root.nextLong();
+        }
+
+        int[] switched = new int[trials];
+        int[] depths = new int[trials];
+        AtomicInteger complete = new AtomicInteger();
+
+        pool.submit(() -> IntStream.range(0, trials).parallel().forEach(i -> {
+            CascadeEngine engine = engines.poll();
+            if (engine == null) {
+                engine = newEngine();
+            }
+            try {
+                engine.run(new SplittableRandom(seeds[i]));
+                switched[i] = engine.getSwitchedVertices();
+                depths[i] = engine.getCascadeDepth();
+                if (engine.isCompleteCascade()) {
+                    complete.incrementAndGet();
+                }
+            } finally {
+                engines.offer(engine);
+            }
+        })).join();
+
+        return new CascadeStatistics(switched, depths, complete.get());
+    }
+
+    /**
+     * Create an engine, when no idle one is left
+     * @return a new engine
+     */
+    private CascadeEngine newEngine() {
+        CascadeEngine engine = new CascadeEngine(graph);
+        engine.setMode(mode);
+        engine.setRewardA(rewardA);
+        engine.setRewardB(rewardB);
+        if (rules != null) {
+            engine.setActivationRule(rules.get());
+        }
+        engine.addMetricsListener(metricsListener);
+        return engine;
+    }
+
+}
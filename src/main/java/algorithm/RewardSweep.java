@@ -0,0 +1,331 @@
+package algorithm;
+
+import graph.IndexedGraph;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Sweep of the (a, b) reward grid against the fraction of seeded vertices.
+ * <p>
+ * Every cell of the grid is estimated over the same trials: for each seed
+ * fraction, each trial draws one block of seeds, run at every threshold of
+ * the grid. Trials are scheduled across a fork-join pool over the shared,
+ * read-only graph, each trial borrowing an engine from the idle engines of
+ * the sweep.
+ * <p>
+ * Most cells are never run. The outcome only depends on q = b / (a + b),
+ * so cells of equal thresholds are run once. Runs propagate in rounds,
+ * and the fixed point shrinks as q grows, so for a given seed set:
+ * <ul>
+ *     <li>the cascade is complete for every q below the critical threshold q*,
+ *     found by a threshold search without running the cascade;</li>
+ *     <li>when two thresholds give the same number of adopters, they give
+ *     the same adopters, and so does every threshold in between.</li>
+ * </ul>
+ * The thresholds above q* are thus bisected, and only the runs that
+ * separate different outcomes are made.
+ * @author Solange U. Gasengayire
+ * @see SweepResult
+ */
+public class RewardSweep {
+
+    private final IndexedGraph graph;
+    private final ForkJoinPool pool;
+
+    private int maxRewardA = 100;
+    private int maxRewardB = 100;
+    private double[] seedFractions = {0.1};
+    private int trials = 100;
+
+    // idle workers, reused from sweep to sweep
+    private final Queue<Worker> workers = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Create a new sweep using the common fork-join pool
+     * @param graph the graph at hand
+     */
+    public RewardSweep(IndexedGraph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new sweep
+     * @param graph the graph at hand
+     * @param pool the pool running the trials
+     */
+    public RewardSweep(IndexedGraph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    /**
+     * Update the reward grid: a ranges over 1..maxRewardA, and b over 1..maxRewardB
+     * @param maxRewardA the largest reward a
+     * @param maxRewardB the largest reward b
+     */
+    public void setRewardRange(int maxRewardA, int maxRewardB) {
+        if (maxRewardA < 1 || maxRewardB < 1) {
+            throw new IllegalArgumentException("Rewards must range from 1 at least");
+        }
+        this.maxRewardA = maxRewardA;
+        this.maxRewardB = maxRewardB;
+    }
+
+    /**
+     * Update the seed fractions
+     * @param seedFractions the fractions of seeded vertices, between 0 and 1
+     */
+    public void setSeedFractions(double... seedFractions) {
+        for (double fraction : seedFractions) {
+            if (! (fraction >= 0 && fraction <= 1)) {
+                throw new IllegalArgumentException("Seed fraction must be between 0 and 1: " + fraction);
+            }
+        }
+        this.seedFractions = seedFractions.clone();
+    }
+
+    /**
+     * Update the number of trials per seed fraction
+     * @param trials the trial count
+     */
+    public void setTrials(int trials) {
+        if (trials < 1) {
+            throw new IllegalArgumentException("Trial count must be positive: " + trials);
+        }
+        this.trials = trials;
+    }
+
+    /**
+     * Run the sweep
+     * @param seed the seed of the sweep
+     * @return the heat map of the sweep
+     */
+    public SweepResult run(long seed) {
+        // distinct thresholds, in increasing order
+        int[][] thresholds = distinctThresholds();
+        int[] numerators = thresholds[0];
+        int[] denominators = thresholds[1];
+        int[] cells = thresholds[2];
+        int distinct = numerators.length;
+
+        int tasks = seedFractions.length * trials;
+        long[] seeds = new long[tasks];
+        SplittableRandom root = new SplittableRandom(seed);
+        for (int i = 0; i < tasks; i++) {
+            seeds[i] = root.nextLong();
+        }
+
+        AtomicLongArray adopters = new AtomicLongArray(seedFractions.length * distinct);
+        AtomicIntegerArray complete = new AtomicIntegerArray(seedFractions.length * distinct);
+        AtomicLong runs = new AtomicLong();
+
+        pool.submit(() -> IntStream.range(0, tasks).parallel().forEach(task -> {
+            Worker worker = workers.poll();
+            if (worker == null) {
+                worker = new Worker();
+            }
+            try {
+                int fraction = task / trials;
+                worker.setThresholds(numerators, denominators);
+                int[] outcome = worker.trial(seedFractions[fraction], new SplittableRandom(seeds[task]));
+                int offset = fraction * distinct;
+                for (int i = 0; i < distinct; i++) {
+                    adopters.addAndGet(offset + i, outcome[i]);
+                    if (outcome[i] == graph.vertexCount()) {
+                        complete.incrementAndGet(offset + i);
+                    }
+                }
+                runs.addAndGet(worker.runs);
+            } finally {
+                workers.offer(worker);
+            }
+        })).join();
+
+        float[] meanAdoption = new float[seedFractions.length * maxRewardA * maxRewardB];
+        float[] completeProbability = new float[meanAdoption.length];
+        double samples = (double) trials * Math.max(graph.vertexCount(), 1);
+        for (int f = 0; f < seedFractions.length; f++) {
+            for (int cell = 0; cell < cells.length; cell++) {
+                int i = f * distinct + cells[cell];
+                meanAdoption[f * cells.length + cell] = (float) (adopters.get(i) / samples);
+                completeProbability[f * cells.length + cell] = ((float) complete.get(i)) / trials;
+            }
+        }
+        return new SweepResult(seedFractions, maxRewardA, maxRewardB,
+                               meanAdoption, completeProbability, runs.get(), (long) tasks * cells.length);
+    }
+
+    /**
+     * Return the distinct thresholds of the grid, in increasing order,
+     * and the threshold of each cell
+     * @return the numerators and denominators of the thresholds, and the
+     *         index of the threshold of each cell (a major, then b)
+     */
+    private int[][] distinctThresholds() {
+        int cellCount = maxRewardA * maxRewardB;
+        long[] reduced = new long[cellCount];
+        List<Long> fractions = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int a = 1; a <= maxRewardA; a++) {
+            for (int b = 1; b <= maxRewardB; b++) {
+                int gcd = gcd(a, b);
+                long fraction = ((long) (b / gcd) << 32) | ((a + b) / gcd);
+                reduced[(a - 1) * maxRewardB + b - 1] = fraction;
+                if (seen.add(fraction)) {
+                    fractions.add(fraction);
+                }
+            }
+        }
+
+        // reduced fractions are equal only if identical: n1 / d1 < n2 / d2 when n1 * d2 < n2 * d1
+        fractions.sort((x, y) -> Long.compare((x >>> 32) * (y & 0xffffffffL),
+                                              (y >>> 32) * (x & 0xffffffffL)));
+        int count = fractions.size();
+        int[] numerators = new int[count];
+        int[] denominators = new int[count];
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            long fraction = fractions.get(i);
+            numerators[i] = (int) (fraction >>> 32);
+            denominators[i] = (int) fraction;
+            positions.put(fraction, i);
+        }
+        int[] cells = new int[cellCount];
+        for (int cell = 0; cell < cellCount; cell++) {
+            cells[cell] = positions.get(reduced[cell]);
+        }
+        return new int[][] {numerators, denominators, cells};
+    }
+
+    /**
+     * Utility method
+     * @return the greatest common divisor of two positive integers
+     */
+    private static int gcd(int x, int y) {
+        while (y != 0) {
+            int r = x % y;
+            x = y;
+            y = r;
+        }
+        return x;
+    }
+
+    /**
+     * State of a trial: an engine, a threshold search,
+     * the thresholds of the sweep and the outcome of the trial
+     */
+    private final class Worker {
+
+        private final CascadeEngine engine;
+        private final ThresholdSearch search;
+        private int[] numerators;
+        private int[] denominators;
+        private int[] outcome = new int[0];
+        private int[] seeds;
+        private long runs;
+
+        Worker() {
+            this.engine = new CascadeEngine(graph);
+            this.engine.setMode(CascadeEngine.Mode.ROUNDS);
+            this.search = new ThresholdSearch(graph);
+        }
+
+        /**
+         * Update the thresholds of the trials
+         * @param numerators the numerators of the distinct thresholds
+         * @param denominators their denominators
+         */
+        void setThresholds(int[] numerators, int[] denominators) {
+            this.numerators = numerators;
+            this.denominators = denominators;
+            if (outcome.length != numerators.length) {
+                outcome = new int[numerators.length];
+            }
+        }
+
+        /**
+         * Run a trial at every threshold
+         * @param fraction the fraction of seeded vertices
+         * @param random the random generator of the trial
+         * @return the number of adopters at each threshold
+         */
+        int[] trial(double fraction, SplittableRandom random) {
+            runs = 0;
+            seeds = seedBlock(fraction, random);
+            search.search(seeds);
+
+            // below the critical threshold, the cascade is complete
+            int count = numerators.length;
+            int first = 0;
+            while (first < count && search.isCompleteCascade(denominators[first] - numerators[first],
+                                                             numerators[first])) {
+                outcome[first++] = graph.vertexCount();
+            }
+            if (first < count) {
+                evaluate(first);
+                evaluate(count - 1);
+                bisect(first, count - 1);
+            }
+            return outcome;
+        }
+
+        /**
+         * Fill the outcomes strictly between two evaluated thresholds
+         * @param low the index of the lower threshold
+         * @param high the index of the higher threshold
+         */
+        private void bisect(int low, int high) {
+            if (high - low < 2) {
+                return;
+            }
+            if (outcome[low] == outcome[high]) {
+                // nested adopter sets of equal size are equal
+                Arrays.fill(outcome, low + 1, high, outcome[low]);
+                return;
+            }
+            int middle = (low + high) >>> 1;
+            evaluate(middle);
+            bisect(low, middle);
+            bisect(middle, high);
+        }
+
+        /**
+         * Run the cascade at a threshold
+         * @param index the index of the threshold
+         */
+        private void evaluate(int index) {
+            engine.setRewardA(denominators[index] - numerators[index]);
+            engine.setRewardB(numerators[index]);
+            engine.run(seeds);
+            outcome[index] = engine.getSeededVertices() + engine.getSwitchedVertices();
+            runs++;
+        }
+
+        /**
+         * Choose a random block of seeds, as the engine does
+         * @param fraction the fraction of seeded vertices
+         * @param random the random generator
+         * @return the seeds
+         */
+        private int[] seedBlock(double fraction, SplittableRandom random) {
+            int count = graph.vertexCount();
+            if (count == 0) {
+                return new int[0];
+            }
+            int start = random.nextInt(count);
+            int end = (int) Math.min(start + Math.round(fraction * count), count);
+            int[] block = new int[end - start];
+            for (int i = 0; i < block.length; i++) {
+                block[i] = start + i;
+            }
+            return block;
+        }
+    }
+
+}
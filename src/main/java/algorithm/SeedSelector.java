@@ -0,0 +1,353 @@
+package algorithm;
+
+import graph.IndexedGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Selection of k seed vertices meant to maximize the size of the cascade:
+ * <ul>
+ *     <li>by degree, the best connected vertices first;</li>
+ *     <li>by PageRank, the most central vertices first;</li>
+ *     <li>by CELF lazy-greedy optimization, adding at each step the candidate
+ *     with the highest marginal gain in cascade size.</li>
+ * </ul>
+ * Cascade sizes are those of the round-based threshold model. Since they are
+ * not submodular in the seed set, the lazy evaluation of CELF is a heuristic
+ * here: a cached gain is an estimate, refreshed whenever its candidate
+ * reaches the top of the priority queue.
+ * @author Solange U. Gasengayire
+ */
+public class SeedSelector {
+
+    /**
+     * Seed selection strategies
+     */
+    public enum Strategy {
+        /** Highest degree first */
+        DEGREE,
+        /** Highest PageRank first */
+        PAGERANK,
+        /** Lazy-greedy maximization of the cascade size */
+        CELF
+    }
+
+    private static final double DAMPING = 0.85;
+    private static final double TOLERANCE = 1e-9;
+    private static final int MAX_ITERATIONS = 100;
+
+    private final IndexedGraph graph;
+    private final ForkJoinPool pool;
+
+    private int rewardA = 1;
+    private int rewardB = 1;
+    private int candidatePoolSize = 1000;
+
+    // idle engines, configured with the current rewards
+    private final Queue<CascadeEngine> engines = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Create a new selector using the common fork-join pool
+     * @param graph the graph at hand
+     */
+    public SeedSelector(IndexedGraph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new selector
+     * @param graph the graph at hand
+     * @param pool the pool running the cascade evaluations
+     */
+    public SeedSelector(IndexedGraph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    /**
+     * Update the rewardA value
+     * @param rewardA the new value
+     */
+    public void setRewardA(int rewardA) {
+        this.rewardA = rewardA;
+        engines.clear();
+    }
+
+    /**
+     * Update the rewardB value
+     * @param rewardB the new value
+     */
+    public void setRewardB(int rewardB) {
+        this.rewardB = rewardB;
+        engines.clear();
+    }
+
+    /**
+     * Update the number of candidates considered by CELF.
+     * Candidates are the vertices of highest degree.
+     * @param candidatePoolSize the new value
+     */
+    public void setCandidatePoolSize(int candidatePoolSize) {
+        this.candidatePoolSize = candidatePoolSize;
+    }
+
+    /**
+     * Select seeds with a given strategy
+     * @param strategy the selection strategy
+     * @param k the number of seeds
+     * @return the (dense) indices of the seeds
+     */
+    public int[] select(Strategy strategy, int k) {
+        switch (strategy) {
+            case DEGREE:
+                return byDegree(k);
+            case PAGERANK:
+                return byPageRank(k);
+            default:
+                return byCelf(k);
+        }
+    }
+
+    /**
+     * Select the k vertices of highest degree
+     * @param k the number of seeds
+     * @return the (dense) indices of the seeds
+     */
+    public int[] byDegree(int k) {
+        return topK(k, graph::degree);
+    }
+
+    /**
+     * Select the k vertices of highest PageRank
+     * @param k the number of seeds
+     * @return the (dense) indices of the seeds
+     */
+    public int[] byPageRank(int k) {
+        double[] rank = pageRank();
+        return topK(k, vertex -> rank[vertex]);
+    }
+
+    /**
+     * Compute the PageRank of every vertex by power iteration.
+     * Each iteration pulls the rank of the neighbors, in parallel over vertices;
+     * the rank of isolated vertices is spread evenly.
+     * @return the rank of each vertex (they sum to 1)
+     */
+    public double[] pageRank() {
+        int count = graph.vertexCount();
+        double[] rank = new double[count];
+        double[] next = new double[count];
+        double[] share = new double[count];
+        if (count == 0) {
+            return rank;
+        }
+        Arrays.fill(rank, 1.0 / count);
+
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            double isolated = 0;
+            for (int v = 0; v < count; v++) {
+                int degree = graph.degree(v);
+                if (degree == 0) {
+                    isolated += rank[v];
+                    share[v] = 0;
+                } else {
+                    share[v] = rank[v] / degree;
+                }
+            }
+
+            double base = (1 - DAMPING + DAMPING * isolated) / count;
+            double[] current = next;
+            pool.submit(() -> IntStream.range(0, count).parallel().forEach(v -> {
+                double sum = 0;
+                for (long e = graph.rowStart(v); e < graph.rowEnd(v); e++) {
+                    sum += share[graph.target(e)];
+                }
+                current[v] = base + DAMPING * sum;
+            })).join();
+
+            double delta = 0;
+            for (int v = 0; v < count; v++) {
+                delta += Math.abs(next[v] - rank[v]);
+            }
+            next = rank;
+            rank = current;
+            if (delta < TOLERANCE) {
+                break;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Select k seeds by CELF lazy-greedy optimization.
+     * The initial gains of all candidates are evaluated in parallel,
+     * and stale gains are refreshed in parallel batches.
+     * @param k the number of seeds
+     * @return the (dense) indices of the seeds
+     */
+    public int[] byCelf(int k) {
+        int[] candidates = topK(candidatePoolSize, graph::degree);
+        int[] gain = new int[graph.vertexCount()];
+        int[] stamp = new int[graph.vertexCount()];
+        // initial gains: the cascade size of each candidate alone
+        pool.submit(() -> Arrays.stream(candidates).parallel().forEach(
+                vertex -> gain[vertex] = cascadeSize(new int[0], vertex)
+        )).join();
+
+        PriorityQueue<Integer> queue = new PriorityQueue<>(
+                Math.max(candidates.length, 1),
+                (u, v) -> gain[u] != gain[v] ? Integer.compare(gain[v], gain[u]) : Integer.compare(u, v));
+        for (int vertex : candidates) {
+            queue.add(vertex);
+        }
+
+        int[] seeds = new int[0];
+        int covered = 0;
+        int batchSize = Math.max(pool.getParallelism(), 1);
+        while (seeds.length < k && ! queue.isEmpty()) {
+            int top = queue.peek();
+            if (stamp[top] == seeds.length) {
+                // its gain is up to date: select it
+                queue.poll();
+                seeds = Arrays.copyOf(seeds, seeds.length + 1);
+                seeds[seeds.length - 1] = top;
+                covered += gain[top];
+                continue;
+            }
+
+            // refresh the gains of the stale candidates at the top of the queue
+            List<Integer> stale = new ArrayList<>(batchSize);
+            while (stale.size() < batchSize && ! queue.isEmpty()
+                    && stamp[queue.peek()] != seeds.length) {
+                stale.add(queue.poll());
+            }
+            int[] current = seeds;
+            int base = covered;
+            pool.submit(() -> stale.parallelStream().forEach(vertex -> {
+                gain[vertex] = cascadeSize(current, vertex) - base;
+                stamp[vertex] = current.length;
+            })).join();
+            queue.addAll(stale);
+        }
+        return seeds;
+    }
+
+    /**
+     * Evaluate the cascade size of a seed set extended with a candidate,
+     * on an engine borrowed from the idle ones
+     * @param seeds the selected seeds
+     * @param candidate the candidate seed
+     * @return the number of vertices that adopt the new behavior
+     */
+    private int cascadeSize(int[] seeds, int candidate) {
+        int[] extended = Arrays.copyOf(seeds, seeds.length + 1);
+        extended[seeds.length] = candidate;
+        CascadeEngine engine = engines.poll();
+        if (engine == null) {
+            engine = newEngine();
+        }
+        try {
+            engine.run(extended);
+            return engine.getSeededVertices() + engine.getSwitchedVertices();
+        } finally {
+            engines.offer(engine);
+        }
+    }
+
+    /**
+     * Create an engine, when no idle one is left
+     * @return a new engine
+     */
+    private CascadeEngine newEngine() {
+        CascadeEngine engine = new CascadeEngine(graph);
+        engine.setMode(CascadeEngine.Mode.ROUNDS);
+        engine.setRewardA(rewardA);
+        engine.setRewardB(rewardB);
+        return engine;
+    }
+
+    /**
+     * Return the k vertices of highest score, highest first.
+     * A min-heap of size k keeps the best vertices seen so far.
+     * @param k the number of vertices
+     * @param score the score of each vertex
+     * @return the (dense) indices of the vertices
+     */
+    private int[] topK(int k, IntToDoubleFunction score) {
+        int size = Math.min(Math.max(k, 0), graph.vertexCount());
+        int[] heap = new int[size];
+        double[] keys = new double[size];
+        int filled = 0;
+
+        for (int v = 0; v < graph.vertexCount() && size > 0; v++) {
+            double key = score.applyAsDouble(v);
+            if (filled < size) {
+                // sift up
+                int index = filled++;
+                while (index > 0 && keys[(index - 1) / 2] > key) {
+                    heap[index] = heap[(index - 1) / 2];
+                    keys[index] = keys[(index - 1) / 2];
+                    index = (index - 1) / 2;
+                }
+                heap[index] = v;
+                keys[index] = key;
+            } else if (key > keys[0]) {
+                // replace the minimum, and sift down
+                int index = 0;
+                while (true) {
+                    int child = 2 * index + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && keys[child + 1] < keys[child]) {
+                        child++;
+                    }
+                    if (keys[child] >= key) {
+                        break;
+                    }
+                    heap[index] = heap[child];
+                    keys[index] = keys[child];
+                    index = child;
+                }
+                heap[index] = v;
+                keys[index] = key;
+            }
+        }
+
+        // heap sort, highest first
+        for (int end = size - 1; end > 0; end--) {
+            int vertex = heap[end];
+            double key = keys[end];
+            heap[end] = heap[0];
+            keys[end] = keys[0];
+            int index = 0;
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= end) {
+                    break;
+                }
+                if (child + 1 < end && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (keys[child] >= key) {
+                    break;
+                }
+                heap[index] = heap[child];
+                keys[index] = keys[child];
+                index = child;
+            }
+            heap[index] = vertex;
+            keys[index] = key;
+        }
+        return heap;
+    }
+
+}
@@ -0,0 +1,230 @@
+package algorithm;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Heat map of a reward sweep: for each seed fraction and each (a, b)
+ * cell, the mean fraction of adopters and the probability of a complete
+ * cascade.
+ * <p>
+ * The binary form is little-endian: a header (MAGIC, VERSION), the seed
+ * fraction count, the largest rewards a and b, the seed fractions
+ * (doubles), then the mean adoption and the complete cascade probability
+ * of every cell (floats), seed fraction major, then a, then b.
+ * @author Solange U. Gasengayire
+ * @see RewardSweep
+ */
+public final class SweepResult {
+
+    // "IFHM" in little-endian order
+    static final int MAGIC = 0x4d484649;
+    static final int VERSION = 1;
+
+    private final double[] seedFractions;
+    private final int maxRewardA;
+    private final int maxRewardB;
+    private final float[] meanAdoption;
+    private final float[] completeProbability;
+    private final long runs;
+    private final long cellTrials;
+
+    /**
+     * Create a new result
+     * @param seedFractions the seed fractions
+     * @param maxRewardA the largest reward a
+     * @param maxRewardB the largest reward b
+     * @param meanAdoption the mean adoption of each cell
+     * @param completeProbability the complete cascade probability of each cell
+     * @param runs the number of cascades run
+     * @param cellTrials the number of cascades an exhaustive sweep would run
+     */
+    SweepResult(double[] seedFractions, int maxRewardA, int maxRewardB,
+                float[] meanAdoption, float[] completeProbability, long runs, long cellTrials) {
+        this.seedFractions = seedFractions;
+        this.maxRewardA = maxRewardA;
+        this.maxRewardB = maxRewardB;
+        this.meanAdoption = meanAdoption;
+        this.completeProbability = completeProbability;
+        this.runs = runs;
+        this.cellTrials = cellTrials;
+    }
+
+    /**
+     * Read a heat map from a binary file
+     * @param path the file path
+     * @return the heat map
+     * @throws IOException if the file cannot be read, or is not a heat map
+     */
+    public static SweepResult read(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException(path + " is not a sweep heat map");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException(path + " has unsupported version " + version);
+            }
+            double[] seedFractions = new double[buffer.getInt()];
+            int maxRewardA = buffer.getInt();
+            int maxRewardB = buffer.getInt();
+            for (int i = 0; i < seedFractions.length; i++) {
+                seedFractions[i] = buffer.getDouble();
+            }
+            float[] meanAdoption = new float[seedFractions.length * maxRewardA * maxRewardB];
+            float[] completeProbability = new float[meanAdoption.length];
+            buffer.asFloatBuffer().get(meanAdoption);
+            buffer.position(buffer.position() + 4 * meanAdoption.length);
+            buffer.asFloatBuffer().get(completeProbability);
+            return new SweepResult(seedFractions, maxRewardA, maxRewardB,
+                                   meanAdoption, completeProbability, 0, 0);
+        } catch (BufferUnderflowException | IllegalArgumentException exception) {
+            throw new IOException(path + " is truncated or corrupted", exception);
+        }
+    }
+
+    /**
+     * Write this heat map to a binary file
+     * @param path the file path
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(20 + 8 * seedFractions.length + 8 * meanAdoption.length)
+                                      .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION)
+              .putInt(seedFractions.length).putInt(maxRewardA).putInt(maxRewardB);
+        for (double fraction : seedFractions) {
+            buffer.putDouble(fraction);
+        }
+        for (float value : meanAdoption) {
+            buffer.putFloat(value);
+        }
+        for (float value : completeProbability) {
+            buffer.putFloat(value);
+        }
+        Files.write(path, buffer.array());
+    }
+
+    /**
+     * Write this heat map to a CSV file, one line per cell
+     * @param path the file path
+     * @throws IOException if the file cannot be written
+     */
+    public void writeCsv(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("seed_fraction,reward_a,reward_b,threshold,mean_adoption,complete_probability");
+            writer.newLine();
+            for (int f = 0; f < seedFractions.length; f++) {
+                for (int a = 1; a <= maxRewardA; a++) {
+                    for (int b = 1; b <= maxRewardB; b++) {
+                        writer.write(String.format(Locale.ROOT, "%s,%d,%d,%.6f,%.6f,%.6f",
+                                                   seedFractions[f], a, b, ((double) b) / (a + b),
+                                                   getMeanAdoption(f, a, b),
+                                                   getCompleteCascadeProbability(f, a, b)));
+                        writer.newLine();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the seed fractions of the sweep
+     * @return a copy of the seed fractions
+     */
+    public double[] getSeedFractions() {
+        return seedFractions.clone();
+    }
+
+    /**
+     * Return the largest reward a of the grid
+     * @return max reward a
+     */
+    public int getMaxRewardA() {
+        return maxRewardA;
+    }
+
+    /**
+     * Return the largest reward b of the grid
+     * @return max reward b
+     */
+    public int getMaxRewardB() {
+        return maxRewardB;
+    }
+
+    /**
+     * Return the mean fraction of adopters (seeds included) of a cell
+     * @param fraction the index of the seed fraction
+     * @param rewardA the reward a
+     * @param rewardB the reward b
+     * @return the mean adoption, between 0 and 1
+     */
+    public float getMeanAdoption(int fraction, int rewardA, int rewardB) {
+        return meanAdoption[cell(fraction, rewardA, rewardB)];
+    }
+
+    /**
+     * Return the fraction of the trials of a cell that ended in a complete cascade
+     * @param fraction the index of the seed fraction
+     * @param rewardA the reward a
+     * @param rewardB the reward b
+     * @return the complete cascade probability
+     */
+    public float getCompleteCascadeProbability(int fraction, int rewardA, int rewardB) {
+        return completeProbability[cell(fraction, rewardA, rewardB)];
+    }
+
+    /**
+     * Return the number of cascades the sweep has run
+     * (0 for a heat map read from a file)
+     * @return run count
+     */
+    public long getRuns() {
+        return runs;
+    }
+
+    /**
+     * Return the number of cascades an exhaustive sweep would have run,
+     * that is the number of cells times the number of trials
+     * (0 for a heat map read from a file)
+     * @return exhaustive run count
+     */
+    public long getCellTrials() {
+        return cellTrials;
+    }
+
+    /**
+     * Return the string representation of this heat map
+     * @return a short summary
+     */
+    @Override
+    public String toString() {
+        return "SweepResult[ seed fractions: " + seedFractions.length
+                + ", rewards: " + maxRewardA + "x" + maxRewardB
+                + ", runs: " + runs + "/" + cellTrials + " ]";
+    }
+
+    /**
+     * Return the position of a cell in the value arrays
+     * @param fraction the index of the seed fraction
+     * @param rewardA the reward a
+     * @param rewardB the reward b
+     * @return the cell position
+     */
+    private int cell(int fraction, int rewardA, int rewardB) {
+        if (fraction < 0 || fraction >= seedFractions.length
+                || rewardA < 1 || rewardA > maxRewardA || rewardB < 1 || rewardB > maxRewardB) {
+            throw new IndexOutOfBoundsException("No such cell: " + fraction + ", " + rewardA + ", " + rewardB);
+        }
+        return (fraction * maxRewardA + rewardA - 1) * maxRewardB + rewardB - 1;
+    }
+
+}
@@ -0,0 +1,236 @@
+package algorithm;
+
+import graph.IndexedGraph;
+
+import java.util.Arrays;
+
+/**
+ * Search of the maximal conditions under which a complete cascade
+ * can occur, for a given graph and seed set.
+ * <p>
+ * A vertex switches when the fraction of its neighbors who have switched
+ * exceeds q = b / (a + b). The cascade is complete for every q below a
+ * critical threshold q*, and incomplete from q* on. Since the outcome only
+ * changes at one of the finitely many fractions k / degree, q* is found
+ * in a single sweep rather than by probing thresholds one by one:
+ * vertices are switched greedily, always taking the one with the highest
+ * fraction of switched neighbors, and q* is the lowest fraction met along
+ * the way. Indeed, the set switched when that fraction is met is closed for
+ * any q at or above it, so no cascade at such a q can go further.
+ * <p>
+ * The cascade meant here is the round-based one, run to its exact fixed
+ * point (CascadeEngine.Mode.ROUNDS). A sequential run may stop short of it,
+ * and so be incomplete below q*.
+ * <p>
+ * The search assumes the reward-based global threshold: its results do not
+ * apply to an engine with an activation rule, whose thresholds differ from
+ * vertex to vertex.
+ * <p>
+ * The arrays of a search are kept for the next one.
+ * @author Solange U. Gasengayire
+ */
+public class ThresholdSearch {
+
+    private final IndexedGraph graph;
+
+    // switched neighbor counts, and adoption flags
+    private final int[] count;
+    private final boolean[] adopted;
+
+    // indexed binary max-heap of the vertices with at least one switched neighbor
+    private final int[] heap;
+    private final int[] position;
+    private int size;
+
+    private long criticalNumerator;
+    private long criticalDenominator;
+    private int bottleneckVertex;
+
+    /**
+     * Create a new search for a given graph
+     * @param graph the graph at hand
+     */
+    public ThresholdSearch(IndexedGraph graph) {
+        int vertices = graph.vertexCount();
+        this.graph = graph;
+        this.count = new int[vertices];
+        this.adopted = new boolean[vertices];
+        this.heap = new int[vertices];
+        this.position = new int[vertices];
+    }
+
+    /**
+     * Search the critical threshold for a given seed set
+     * @param seeds the (dense) indices of the seeded vertices
+     * @return the critical threshold q*
+     */
+    public double search(int[] seeds) {
+        Arrays.fill(count, 0);
+        Arrays.fill(adopted, false);
+        Arrays.fill(position, -1);
+        size = 0;
+
+        int remaining = graph.vertexCount();
+        for (int vertex : seeds) {
+            if (! adopted[vertex]) {
+                adopt(vertex);
+                remaining--;
+            }
+        }
+
+        // the seeds alone make a complete cascade, whatever the threshold
+        criticalNumerator = 1;
+        criticalDenominator = 1;
+        bottleneckVertex = -1;
+
+        while (remaining > 0) {
+            if (size == 0) {
+                // the remaining vertices have no switched neighbor at all
+                criticalNumerator = 0;
+                criticalDenominator = 1;
+                bottleneckVertex = -1;
+                break;
+            }
+
+            int vertex = pop();
+            long fraction = count[vertex];
+            long degree = graph.degree(vertex);
+            if (fraction * criticalDenominator < criticalNumerator * degree) {
+                criticalNumerator = fraction;
+                criticalDenominator = degree;
+                bottleneckVertex = vertex;
+            }
+            adopt(vertex);
+            remaining--;
+        }
+
+        return getCriticalThreshold();
+    }
+
+    /**
+     * Return the critical threshold found by the last search.
+     * The cascade is complete for every threshold q below this value.
+     * A value of 0 means that no threshold gives a complete cascade.
+     * @return the critical threshold q*
+     */
+    public double getCriticalThreshold() {
+        return ((double) criticalNumerator) / ((double) criticalDenominator);
+    }
+
+    /**
+     * Return the vertex that sets the critical threshold,
+     * that is the hardest vertex to convince
+     * @return its dense index, or -1 if there is none
+     */
+    public int getBottleneckVertex() {
+        return bottleneckVertex;
+    }
+
+    /**
+     * Indicate whether given rewards lead to a complete round-based cascade,
+     * according to the last search
+     * @param rewardA the reward a
+     * @param rewardB the reward b
+     * @return true if b / (a + b) is below the critical threshold
+     */
+    public boolean isCompleteCascade(int rewardA, int rewardB) {
+        // b / (a + b) < numerator / denominator, on integers with a positive a + b
+        long numerator = rewardB;
+        long denominator = (long) rewardA + rewardB;
+        if (denominator < 0) {
+            numerator = -numerator;
+            denominator = -denominator;
+        }
+        return numerator * criticalDenominator < criticalNumerator * denominator;
+    }
+
+    /**
+     * Switch a vertex, and update the counts of its neighbors
+     * @param vertex the vertex index
+     */
+    private void adopt(int vertex) {
+        adopted[vertex] = true;
+        for (long e = graph.rowStart(vertex); e < graph.rowEnd(vertex); e++) {
+            int neighbor = graph.target(e);
+            if (! adopted[neighbor]) {
+                count[neighbor]++;
+                if (position[neighbor] < 0) {
+                    heap[size] = neighbor;
+                    position[neighbor] = size;
+                    size++;
+                }
+                siftUp(position[neighbor]);
+            }
+        }
+    }
+
+    /**
+     * Remove the vertex with the highest fraction of switched neighbors
+     * @return its index
+     */
+    private int pop() {
+        int top = heap[0];
+        position[top] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Move a heap entry up until its parent has a higher fraction
+     * @param index the heap index
+     */
+    private void siftUp(int index) {
+        int vertex = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (! higher(vertex, heap[parent])) {
+                break;
+            }
+            heap[index] = heap[parent];
+            position[heap[index]] = index;
+            index = parent;
+        }
+        heap[index] = vertex;
+        position[vertex] = index;
+    }
+
+    /**
+     * Move a heap entry down until its children have lower fractions
+     * @param index the heap index
+     */
+    private void siftDown(int index) {
+        int vertex = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && higher(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (! higher(heap[child], vertex)) {
+                break;
+            }
+            heap[index] = heap[child];
+            position[heap[index]] = index;
+            index = child;
+        }
+        heap[index] = vertex;
+        position[vertex] = index;
+    }
+
+    /**
+     * Compare the fractions of switched neighbors of two vertices
+     * (both have at least one neighbor)
+     * @return true if u has a strictly higher fraction than v
+     */
+    private boolean higher(int u, int v) {
+        return (long) count[u] * graph.degree(v) > (long) count[v] * graph.degree(u);
+    }
+
+}
@@ -0,0 +1,40 @@
+package algorithm;
+
+import graph.IndexedGraph;
+
+/**
+ * Activation rule with a threshold of its own for each vertex:
+ * a vertex adopts when the fraction of its neighbors who have
+ * adopted exceeds its threshold. With the same threshold b / (a + b)
+ * for every vertex, this is the reward-based rule of the engine.
+ * The rule only reads the neighbor counters of the engine, so it also
+ * follows edge updates on a dynamic graph.
+ * @author Solange U. Gasengayire
+ */
+public final class VertexThresholdRule implements ActivationRule {
+
+    private final double[] thresholds;
+
+    /**
+     * Create a new rule
+     * @param thresholds the threshold of each vertex, by dense index
+     */
+    public VertexThresholdRule(double[] thresholds) {
+        this.thresholds = thresholds;
+    }
+
+    /**
+     * Return the threshold of a vertex
+     * @param vertex the vertex index
+     * @return its threshold
+     */
+    public double getThreshold(int vertex) {
+        return thresholds[vertex];
+    }
+
+    @Override
+    public boolean shouldActivate(IndexedGraph graph, int vertex, int adoptedNeighbors) {
+        return adoptedNeighbors > thresholds[vertex] * graph.degree(vertex);
+    }
+
+}
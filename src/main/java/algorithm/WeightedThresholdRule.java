@@ -0,0 +1,69 @@
+package algorithm;
+
+import graph.DynamicGraph;
+import graph.IndexedGraph;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Activation rule on weighted edges: a vertex adopts when the weight of
+ * its adopting neighbors exceeds its threshold, as a fraction of the weight
+ * of all its neighbors.
+ * <p>
+ * Weights are given by edge position: the weight at a position e of the row
+ * of u is the influence of u on the neighbor target(e), so connections
+ * may weigh differently in each direction. Edge positions of a dynamic graph
+ * change with each update, hence such graphs are not supported.
+ * @author Solange U. Gasengayire
+ * @see graph.Graph#edgeWeights(graph.CsrGraph)
+ */
+public final class WeightedThresholdRule implements ActivationRule {
+
+    private final float[] weights;
+    private final double[] thresholds;
+
+    // total weight of the neighbors of each vertex, and of the adopting ones
+    private final double[] totalWeight;
+    private final double[] adoptedWeight;
+
+    /**
+     * Create a new rule
+     * @param graph the graph at hand
+     * @param weights the weight of each edge position
+     * @param thresholds the threshold of each vertex, by dense index
+     */
+    public WeightedThresholdRule(IndexedGraph graph, float[] weights, double[] thresholds) {
+        if (graph instanceof DynamicGraph) {
+            throw new IllegalArgumentException("Edge weights require a static graph");
+        }
+        if (weights.length != graph.arcCount() || thresholds.length != graph.vertexCount()) {
+            throw new IllegalArgumentException("One weight per edge and one threshold per vertex expected");
+        }
+        this.weights = weights;
+        this.thresholds = thresholds;
+        this.totalWeight = new double[graph.vertexCount()];
+        this.adoptedWeight = new double[graph.vertexCount()];
+        for (int e = 0; e < weights.length; e++) {
+            totalWeight[graph.target(e)] += weights[e];
+        }
+    }
+
+    @Override
+    public void prepare(IndexedGraph graph, SplittableRandom random) {
+        Arrays.fill(adoptedWeight, 0);
+    }
+
+    @Override
+    public void adopted(IndexedGraph graph, int vertex) {
+        for (int e = graph.edgeStart(vertex); e < graph.edgeEnd(vertex); e++) {
+            adoptedWeight[graph.target(e)] += weights[e];
+        }
+    }
+
+    @Override
+    public boolean shouldActivate(IndexedGraph graph, int vertex, int adoptedNeighbors) {
+        return adoptedWeight[vertex] > thresholds[vertex] * totalWeight[vertex];
+    }
+
+}
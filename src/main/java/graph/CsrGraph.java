@@ -0,0 +1,211 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * Immutable compressed sparse row (CSR) snapshot of a graph.
+ * Vertices are identified by dense indices in [0, vertexCount()),
+ * the neighbors of vertex v being stored in targets[offsets[v] .. offsets[v + 1]).
+ * Neighbor lists are sorted, free of duplicates and self-loops, and
+ * symmetric: every connection appears once in each direction.
+ * @author Solange U. Gasengayire
+ */
+public final class CsrGraph implements IndexedGraph {
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] ids;
+
+    // original ids sorted, and their dense indices (for id lookups)
+    private final int[] sortedIds;
+    private final int[] sortedIndices;
+
+    /**
+     * Create a new CSR graph from normalized arrays.
+     * The arrays are adopted, not copied.
+     * @param offsets the row offsets (vertex count + 1 entries)
+     * @param targets the neighbor indices
+     * @param ids the original id of each dense index
+     */
+    private CsrGraph(int[] offsets, int[] targets, int[] ids) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.ids = ids;
+
+        int count = ids.length;
+        long[] pairs = new long[count];
+        for (int i = 0; i < count; i++) {
+            pairs[i] = ((long) ids[i] << 32) | i;
+        }
+        Arrays.sort(pairs);
+        this.sortedIds = new int[count];
+        this.sortedIndices = new int[count];
+        for (int i = 0; i < count; i++) {
+            sortedIds[i] = (int) (pairs[i] >> 32);
+            sortedIndices[i] = (int) pairs[i];
+        }
+    }
+
+    /**
+     * Create a CSR graph from raw adjacency rows.
+     * Rows may be unsorted and contain duplicates or self-loops:
+     * they are sorted and compacted in place, so the given
+     * arrays must not be used by the caller afterwards.
+     * @param offsets the row offsets (vertex count + 1 entries)
+     * @param targets the neighbor indices
+     * @param ids the original id of each dense index
+     * @return a normalized CSR graph
+     */
+    public static CsrGraph fromAdjacency(int[] offsets, int[] targets, int[] ids) {
+        int count = ids.length;
+        if (offsets.length != count + 1) {
+            throw new IllegalArgumentException("Expected " + (count + 1)
+                    + " offsets, found " + offsets.length);
+        }
+
+        int write = 0;
+        int start = offsets[0];
+        for (int v = 0; v < count; v++) {
+            int end = offsets[v + 1];
+            Arrays.sort(targets, start, end);
+
+            offsets[v] = write;
+            int previous = -1;
+            for (int e = start; e < end; e++) {
+                int w = targets[e];
+                if (w != previous && w != v) {
+                    targets[write++] = w;
+                }
+                previous = w;
+            }
+            start = end;
+        }
+        offsets[count] = write;
+
+        int[] compacted = write == targets.length ? targets : Arrays.copyOf(targets, write);
+        return new CsrGraph(offsets, compacted, ids);
+    }
+
+    /**
+     * Relabel the vertices of this graph. Each vertex keeps its original id,
+     * so that results can be mapped back with originalId and indexOf.
+     * @param order the vertex at each new position: order[k] is the
+     *              current index of the vertex that gets index k
+     * @return the relabeled graph
+     * @see VertexOrder
+     */
+    public CsrGraph permute(int[] order) {
+        int count = ids.length;
+        if (order.length != count) {
+            throw new IllegalArgumentException("Expected " + count + " vertices, found " + order.length);
+        }
+        int[] newIndex = new int[count];
+        Arrays.fill(newIndex, -1);
+        for (int k = 0; k < count; k++) {
+            if (newIndex[order[k]] >= 0) {
+                throw new IllegalArgumentException("Vertex " + order[k] + " is placed twice");
+            }
+            newIndex[order[k]] = k;
+        }
+
+        int[] newOffsets = new int[count + 1];
+        int[] newTargets = new int[targets.length];
+        int[] newIds = new int[count];
+        for (int k = 0; k < count; k++) {
+            int v = order[k];
+            int start = newOffsets[k];
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                newTargets[start++] = newIndex[targets[e]];
+            }
+            newOffsets[k + 1] = start;
+            newIds[k] = ids[v];
+        }
+        return fromAdjacency(newOffsets, newTargets, newIds);
+    }
+
+    @Override
+    public int vertexCount() {
+        return ids.length;
+    }
+
+    @Override
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    @Override
+    public int degree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    @Override
+    public int edgeStart(int vertex) {
+        return offsets[vertex];
+    }
+
+    @Override
+    public int edgeEnd(int vertex) {
+        return offsets[vertex + 1];
+    }
+
+    @Override
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    @Override
+    public long rowStart(int vertex) {
+        return offsets[vertex];
+    }
+
+    @Override
+    public long rowEnd(int vertex) {
+        return offsets[vertex + 1];
+    }
+
+    @Override
+    public int target(long edge) {
+        return targets[(int) edge];
+    }
+
+    /**
+     * Return the edge position of a neighbor
+     * @param vertex the vertex whose row is searched
+     * @param neighbor the neighbor
+     * @return its position, or -1 if the vertices are not connected
+     */
+    public int edgeIndex(int vertex, int neighbor) {
+        int position = Arrays.binarySearch(targets, offsets[vertex], offsets[vertex + 1], neighbor);
+        return position < 0 ? -1 : position;
+    }
+
+    @Override
+    public int originalId(int vertex) {
+        return ids[vertex];
+    }
+
+    @Override
+    public int indexOf(int id) {
+        int position = Arrays.binarySearch(sortedIds, id);
+        return position < 0 ? -1 : sortedIndices[position];
+    }
+
+    @Override
+    public long memoryBytes() {
+        long ints = (long) offsets.length + targets.length
+                + ids.length + sortedIds.length + sortedIndices.length;
+        return ints * Integer.BYTES;
+    }
+
+    /**
+     * Return the string representation of this snapshot
+     * @return a short summary
+     */
+    @Override
+    public String toString() {
+        return "CsrGraph[ vertices: " + vertexCount()
+                + ", edges: " + edgeCount()
+                + ", bytes/edge: " + String.format("%.2f", bytesPerEdge()) + " ]";
+    }
+
+}
@@ -0,0 +1,236 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Indexed graph that supports edge insertions and deletions.
+ * <p>
+ * Rows are laid out as in a CSR graph, but each one has some slack:
+ * neighbors are stored from edgeStart(v) to edgeEnd(v), within a slot of
+ * a larger capacity. A row that outgrows its slot moves to the end of the
+ * target array, leaving a hole behind; the array is compacted once holes
+ * make up half of it. Algorithms thus iterate over neighbors exactly as
+ * they do on a CSR graph. Edge positions change when rows move, so they
+ * are only valid until the next update.
+ * <p>
+ * The vertex set is the one of the source graph; connections are
+ * undirected, without self-loops or duplicates. Rows are not sorted.
+ * @author Solange U. Gasengayire
+ */
+public final class DynamicGraph implements IndexedGraph {
+
+    private static final int MIN_SLACK = 2;
+
+    // original ids, and dense index lookup
+    private final IndexedGraph source;
+
+    private final int[] starts;
+    private final int[] degrees;
+    private final int[] capacities;
+    private int[] targets;
+
+    // end of the used part of the target array, and size of the holes in it
+    private int used;
+    private int holes;
+    private int edgeCount;
+
+    /**
+     * Create a dynamic copy of a graph
+     * @param source the graph to copy, which also provides the vertex ids
+     */
+    public DynamicGraph(IndexedGraph source) {
+        int count = source.vertexCount();
+        this.source = source;
+        this.starts = new int[count];
+        this.degrees = new int[count];
+        this.capacities = new int[count];
+        for (int v = 0; v < count; v++) {
+            degrees[v] = source.degree(v);
+        }
+        this.targets = new int[0];
+        layOut(v -> {
+            int position = starts[v];
+            for (int e = source.edgeStart(v); e < source.edgeEnd(v); e++) {
+                targets[position++] = source.target(e);
+            }
+        });
+        this.edgeCount = source.edgeCount();
+    }
+
+    /**
+     * Indicate whether two vertices are connected
+     * @param u a dense vertex index
+     * @param v another dense vertex index
+     * @return true if they are neighbors
+     */
+    public boolean hasEdge(int u, int v) {
+        return find(u, v) >= 0;
+    }
+
+    /**
+     * Connect two vertices
+     * @param u a dense vertex index
+     * @param v another dense vertex index
+     * @return true if the connection was added, false if it was
+     *         already there or is a self-loop
+     */
+    public boolean insertEdge(int u, int v) {
+        if (u == v || hasEdge(u, v)) {
+            return false;
+        }
+        append(u, v);
+        append(v, u);
+        edgeCount += 2;
+        return true;
+    }
+
+    /**
+     * Disconnect two vertices
+     * @param u a dense vertex index
+     * @param v another dense vertex index
+     * @return true if the connection was removed, false if there was none
+     */
+    public boolean deleteEdge(int u, int v) {
+        int e = find(u, v);
+        if (e < 0) {
+            return false;
+        }
+        remove(u, e);
+        remove(v, find(v, u));
+        edgeCount -= 2;
+        return true;
+    }
+
+    @Override
+    public int vertexCount() {
+        return starts.length;
+    }
+
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public int degree(int vertex) {
+        return degrees[vertex];
+    }
+
+    @Override
+    public int edgeStart(int vertex) {
+        return starts[vertex];
+    }
+
+    @Override
+    public int edgeEnd(int vertex) {
+        return starts[vertex] + degrees[vertex];
+    }
+
+    @Override
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    @Override
+    public int originalId(int vertex) {
+        return source.originalId(vertex);
+    }
+
+    @Override
+    public int indexOf(int id) {
+        return source.indexOf(id);
+    }
+
+    /**
+     * Return the memory used by the adjacency storage (vertex ids excluded)
+     * @return the size of its data, in bytes
+     */
+    @Override
+    public long memoryBytes() {
+        return 4L * (3L * starts.length + targets.length);
+    }
+
+    /**
+     * Return the edge position of a neighbor
+     * @param u the vertex whose row is searched
+     * @param v the neighbor
+     * @return its position, or -1 if v is not a neighbor of u
+     */
+    private int find(int u, int v) {
+        for (int e = starts[u]; e < starts[u] + degrees[u]; e++) {
+            if (targets[e] == v) {
+                return e;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Add a neighbor at the end of a row, moving the row if it is full
+     * @param u the vertex index
+     * @param v the neighbor
+     */
+    private void append(int u, int v) {
+        if (degrees[u] == capacities[u]) {
+            int capacity = 2 * capacities[u] + MIN_SLACK;
+            if (used + capacity > targets.length) {
+                if (2 * holes > used) {
+                    // compact first: the row then gets its slack back
+                    compact();
+                    append(u, v);
+                    return;
+                }
+                targets = Arrays.copyOf(targets, Math.max(2 * targets.length, used + capacity));
+            }
+            System.arraycopy(targets, starts[u], targets, used, degrees[u]);
+            holes += capacities[u];
+            starts[u] = used;
+            capacities[u] = capacity;
+            used += capacity;
+        }
+        targets[starts[u] + degrees[u]++] = v;
+    }
+
+    /**
+     * Remove a neighbor from a row, moving the last neighbor in its place
+     * @param u the vertex index
+     * @param e the edge position of the neighbor
+     */
+    private void remove(int u, int e) {
+        int last = starts[u] + --degrees[u];
+        targets[e] = targets[last];
+    }
+
+    /**
+     * Lay the rows out again, contiguously, each one with some slack
+     */
+    private void compact() {
+        int[] old = targets;
+        int[] oldStarts = starts.clone();
+        layOut(v -> System.arraycopy(old, oldStarts[v], targets, starts[v], degrees[v]));
+    }
+
+    /**
+     * Assign a slot to each row, given its degree, and fill the rows
+     * @param fill the row filler, called once the slots are assigned
+     */
+    private void layOut(IntConsumer fill) {
+        long total = 0;
+        for (int v = 0; v < starts.length; v++) {
+            capacities[v] = degrees[v] + Math.max(degrees[v] / 4, MIN_SLACK);
+            starts[v] = (int) total;
+            total += capacities[v];
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Too many edges for a dynamic graph: " + total);
+        }
+        targets = new int[(int) total];
+        used = (int) total;
+        holes = 0;
+        for (int v = 0; v < starts.length; v++) {
+            fill.accept(v);
+        }
+    }
+
+}
@@ -2,7 +2,8 @@ package graph;
 
 /**
  * This class represents an edge (a connection)
- * in a graph (social network data graph)
+ * in a graph (social network data graph).
+ * Edges are equal when they connect the same vertices, whatever their weight.
  * @author Solange U. Gasengayire
  *
  */
@@ -10,15 +11,42 @@ class Edge {
 
     private int startPoint;
     private int endPoint;
+    private float weight;
 
     /**
-     * Create a new edge (connection)
+     * Create a new weighted edge (connection)
      * @param start the starting point of the edge
      * @param end the end point of the edge
+     * @param weight the weight of the edge
      */
-    Edge(int start, int end) {
+    Edge(int start, int end, float weight) {
         this.startPoint = start;
         this.endPoint = end;
+        this.weight = weight;
+    }
+
+    /**
+     * Return the starting point of this edge
+     * @return the origin vertex id
+     */
+    int getStartPoint() {
+        return startPoint;
+    }
+
+    /**
+     * Return the end point of this edge
+     * @return the destination vertex id
+     */
+    int getEndPoint() {
+        return endPoint;
+    }
+
+    /**
+     * Return the weight of this edge
+     * @return the edge weight
+     */
+    float getWeight() {
+        return weight;
     }
 
     /**
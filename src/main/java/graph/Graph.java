@@ -1,25 +1,57 @@
 package graph;
 
-import org.graphstream.graph.implementations.SingleGraph;
-
-import java.util.*;
+import java.util.Arrays;
 
 /**
- * Graph implementation
+ * Graph implementation.
+ * This is the mutable graph the data is loaded into: it holds no display
+ * state, the algorithms run on its CSR snapshot, and the GraphStream view
+ * of it is built separately (see gui.GraphView).
  * @author Solange U. Gasengayire
  *
  */
-public class Graph  extends SingleGraph {
+public class Graph {
+
+    private final String id;
 
-    private HashMap<Integer, Vertex> vertices;
+    // vertex ids to dense indices, and vertices by dense index
+    private final IntIntHashMap index;
+    private Vertex[] vertices;
+    private long edgeCount;
 
     /**
      * Create new empty graph
      * @param id the (single) graph id
      */
     public Graph(String id) {
-        super(id);
-        this.vertices = new HashMap<>();
+        this.id = id;
+        // insertion order gives the dense index of each vertex
+        this.index = new IntIntHashMap();
+        this.vertices = new Vertex[16];
+    }
+
+    /**
+     * Return this graph id
+     * @return the graph id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Return the number of vertices of this graph
+     * @return vertex count
+     */
+    public int getVertexCount() {
+        return index.size();
+    }
+
+    /**
+     * Return the number of (distinct, directed) edges of this graph
+     * @return edge count
+     */
+    public long getEdgeCount() {
+        return edgeCount;
     }
 
     /**
@@ -27,11 +59,12 @@ public class Graph  extends SingleGraph {
      * @param num the vertex id
      */
     public void addVertex(int num) {
-        super.addNode(String.valueOf(num));
-
-        if (! vertices.containsKey(num)) {
-            Vertex vertex = new Vertex(this, String.valueOf(num));
-            vertices.put(num, vertex);
+        int count = index.size();
+        if (index.denseIndex(num) == count) {
+            if (count == vertices.length) {
+                vertices = Arrays.copyOf(vertices, 2 * count);
+            }
+            vertices[count] = new Vertex(num);
         }
     }
 
@@ -41,14 +74,103 @@ public class Graph  extends SingleGraph {
      * @param to the destination verted id
      */
     public void addEdge(int from, int to) {
-        String edgeId = String.valueOf(from) + "-" + String.valueOf(to);
-        super.addEdge(edgeId, String.valueOf(from), String.valueOf(to));
+        addEdge(from, to, 1f);
+    }
 
-        Vertex start = vertices.get(from);
-        if (start != null) {
-            Edge edge = new Edge(from, to);
-            start.addEdge(edge);
+    /**
+     * Add a weighted edge from a vertex to another.
+     * An edge that is already there keeps its weight.
+     * @param from the origin vertex id
+     * @param to the destination verted id
+     * @param weight the edge weight
+     */
+    public void addEdge(int from, int to, float weight) {
+        int start = index.get(from);
+        if (start != IntIntHashMap.MISSING && vertices[start].addEdge(new Edge(from, to, weight))) {
+            edgeCount++;
+        }
+    }
+
+    /**
+     * Build an immutable CSR snapshot of this graph.
+     * Dense indices follow the order in which vertices were added,
+     * and connections are made symmetric.
+     * @return the CSR snapshot
+     */
+    public CsrGraph toCsr() {
+        int count = index.size();
+        int[] ids = new int[count];
+        int[] offsets = new int[count + 1];
+
+        // first pass: count degrees in both directions
+        for (int v = 0; v < count; v++) {
+            ids[v] = vertices[v].getVertexId();
+            for (Edge edge : vertices[v].getEdges()) {
+                int w = index.get(edge.getEndPoint());
+                if (w != IntIntHashMap.MISSING) {
+                    offsets[v + 1]++;
+                    offsets[w + 1]++;
+                }
+            }
+        }
+        for (int v = 0; v < count; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        // second pass: fill the rows
+        int[] targets = new int[offsets[count]];
+        int[] fill = Arrays.copyOf(offsets, count);
+        for (int v = 0; v < count; v++) {
+            for (Edge edge : vertices[v].getEdges()) {
+                int w = index.get(edge.getEndPoint());
+                if (w != IntIntHashMap.MISSING) {
+                    targets[fill[v]++] = w;
+                    targets[fill[w]++] = v;
+                }
+            }
+        }
+
+        return CsrGraph.fromAdjacency(offsets, targets, ids);
+    }
+
+    /**
+     * Build an immutable CSR snapshot of this graph, with its vertices
+     * relabeled in a given order for locality. The original ids are kept.
+     * @param order the vertex order
+     * @return the CSR snapshot
+     */
+    public CsrGraph toCsr(VertexOrder order) {
+        return order.apply(toCsr());
+    }
+
+    /**
+     * Return the weights of the edges of a CSR snapshot of this graph, by edge
+     * position. The weight at a position of the row of v is the one of the
+     * edge from v to its neighbor; when only the reverse edge was added,
+     * that edge gives its weight to both directions.
+     * @param csr a CSR snapshot of this graph
+     * @return the weight of each edge position
+     */
+    public float[] edgeWeights(CsrGraph csr) {
+        float[] weights = new float[csr.edgeCount()];
+        boolean[] explicit = new boolean[weights.length];
+        for (int i = 0; i < index.size(); i++) {
+            int v = csr.indexOf(vertices[i].getVertexId());
+            for (Edge edge : vertices[i].getEdges()) {
+                int w = csr.indexOf(edge.getEndPoint());
+                if (v < 0 || w < 0 || v == w) {
+                    continue;
+                }
+                int forward = csr.edgeIndex(v, w);
+                weights[forward] = edge.getWeight();
+                explicit[forward] = true;
+                int backward = csr.edgeIndex(w, v);
+                if (! explicit[backward]) {
+                    weights[backward] = edge.getWeight();
+                }
+            }
         }
+        return weights;
     }
 
 }
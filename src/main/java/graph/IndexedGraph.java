@@ -0,0 +1,130 @@
+package graph;
+
+/**
+ * Read-only graph whose vertices are dense indices in [0, vertexCount()).
+ * The neighbors of a vertex v are stored at edge positions
+ * edgeStart(v) (inclusive) to edgeEnd(v) (exclusive), so that they can
+ * be iterated over without allocation:
+ * <pre>
+ *     for (int e = graph.edgeStart(v); e &lt; graph.edgeEnd(v); e++) {
+ *         int w = graph.target(e);
+ *     }
+ * </pre>
+ * Graphs with more adjacency entries than an int can count, such as
+ * large mapped graphs, are iterated over with long edge positions:
+ * <pre>
+ *     for (long e = graph.rowStart(v); e &lt; graph.rowEnd(v); e++) {
+ *         int w = graph.target(e);
+ *     }
+ * </pre>
+ * The int positions of such graphs are not available: per-edge arrays,
+ * indexed by int positions, only apply to smaller graphs.
+ * @author Solange U. Gasengayire
+ */
+public interface IndexedGraph {
+
+    /**
+     * Return the number of vertices
+     * @return vertex count
+     */
+    int vertexCount();
+
+    /**
+     * Return the number of adjacency entries.
+     * Each undirected connection is counted twice, once per direction.
+     * @return edge (arc) count
+     */
+    int edgeCount();
+
+    /**
+     * Return the number of adjacency entries, as a long
+     * @return edge (arc) count
+     */
+    default long arcCount() {
+        return edgeCount();
+    }
+
+    /**
+     * Return the degree of a vertex
+     * @param vertex the dense vertex index
+     * @return the number of neighbors
+     */
+    int degree(int vertex);
+
+    /**
+     * Return the position of the first neighbor of a vertex
+     * @param vertex the dense vertex index
+     * @return the first edge position (inclusive)
+     */
+    int edgeStart(int vertex);
+
+    /**
+     * Return the position right after the last neighbor of a vertex
+     * @param vertex the dense vertex index
+     * @return the last edge position (exclusive)
+     */
+    int edgeEnd(int vertex);
+
+    /**
+     * Return the neighbor stored at a given edge position
+     * @param edge the edge position
+     * @return the dense index of the neighbor
+     */
+    int target(int edge);
+
+    /**
+     * Return the long position of the first neighbor of a vertex
+     * @param vertex the dense vertex index
+     * @return the first edge position (inclusive)
+     */
+    default long rowStart(int vertex) {
+        return edgeStart(vertex);
+    }
+
+    /**
+     * Return the long position right after the last neighbor of a vertex
+     * @param vertex the dense vertex index
+     * @return the last edge position (exclusive)
+     */
+    default long rowEnd(int vertex) {
+        return edgeEnd(vertex);
+    }
+
+    /**
+     * Return the neighbor stored at a given long edge position
+     * @param edge the edge position
+     * @return the dense index of the neighbor
+     */
+    default int target(long edge) {
+        return target((int) edge);
+    }
+
+    /**
+     * Return the original id of a vertex
+     * @param vertex the dense vertex index
+     * @return the id the vertex had in the source graph
+     */
+    int originalId(int vertex);
+
+    /**
+     * Return the dense index of a vertex given its original id
+     * @param id the original vertex id
+     * @return the dense index, or -1 if there is no such vertex
+     */
+    int indexOf(int id);
+
+    /**
+     * Return the memory used by this graph storage
+     * @return the size of its data, in bytes
+     */
+    long memoryBytes();
+
+    /**
+     * Return the memory used by this graph storage per adjacency entry
+     * @return bytes per edge
+     */
+    default double bytesPerEdge() {
+        return arcCount() == 0 ? 0 : ((double) memoryBytes()) / arcCount();
+    }
+
+}
@@ -0,0 +1,193 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * Map from int keys to non-negative int values, with open addressing.
+ * Keys and values are kept in two primitive arrays, probed linearly:
+ * nothing is boxed, and a lookup touches one or two cache lines at most.
+ * This is the map of vertex ids to dense indices.
+ * @author Solange U. Gasengayire
+ */
+public final class IntIntHashMap {
+
+    /** Value returned for absent keys */
+    public static final int MISSING = -1;
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private int[] keys;
+    // MISSING marks an empty slot
+    private int[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * Create a new empty map
+     */
+    public IntIntHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Create a new empty map
+     * @param expectedSize the number of keys the map will hold without resizing
+     */
+    public IntIntHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Return the number of keys
+     * @return key count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Indicate whether a key is present
+     * @param key the key
+     * @return true if the key has a value
+     */
+    public boolean containsKey(int key) {
+        return get(key) != MISSING;
+    }
+
+    /**
+     * Return the value of a key
+     * @param key the key
+     * @return its value, or MISSING if the key is absent
+     */
+    public int get(int key) {
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            int value = values[slot];
+            if (value == MISSING || keys[slot] == key) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Set the value of a key
+     * @param key the key
+     * @param value the value, which must not be negative
+     * @return the previous value, or MISSING if the key was absent
+     */
+    public int put(int key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Values must not be negative: " + value);
+        }
+        int slot = find(key);
+        int previous = values[slot];
+        if (previous == MISSING) {
+            checkCapacity();
+        }
+        values[slot] = value;
+        if (previous == MISSING) {
+            keys[slot] = key;
+            grow();
+        }
+        return previous;
+    }
+
+    /**
+     * Return the value of a key, assigning it the next dense index
+     * (the current size of the map) if the key is absent
+     * @param key the key
+     * @return its value
+     */
+    public int denseIndex(int key) {
+        int slot = find(key);
+        int value = values[slot];
+        if (value == MISSING) {
+            checkCapacity();
+            value = size;
+            keys[slot] = key;
+            values[slot] = value;
+            grow();
+        }
+        return value;
+    }
+
+    /**
+     * Return the slot of a key, or the empty slot where it would go
+     * @param key the key
+     * @return the slot index
+     */
+    private int find(int key) {
+        int slot = hash(key) & mask;
+        while (values[slot] != MISSING && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Make sure a new key can be added: the table stops doubling at
+     * MAX_CAPACITY slots, which hold MAX_CAPACITY / 2 keys
+     */
+    private void checkCapacity() {
+        if (size >= MAX_CAPACITY >>> 1) {
+            throw new IllegalStateException("Too many keys: " + size);
+        }
+    }
+
+    /**
+     * Count a new key, and double the table once it is half full
+     */
+    private void grow() {
+        if (++size <= (mask + 1) >>> 1) {
+            return;
+        }
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(2 * (mask + 1));
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != MISSING) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Allocate empty tables
+     * @param capacity the number of slots, a power of two
+     */
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, MISSING);
+        mask = capacity - 1;
+    }
+
+    /**
+     * Return the table capacity holding a number of keys at most half full
+     * @param expectedSize the number of keys
+     * @return a power of two
+     */
+    private static int capacityFor(int expectedSize) {
+        long needed = Math.max(2L * expectedSize, MIN_CAPACITY);
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Too many keys: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    /**
+     * Scramble the bits of a key (murmur3 finalizer), so that
+     * consecutive ids do not fill consecutive slots
+     * @param key the key
+     * @return the hash
+     */
+    private static int hash(int key) {
+        int h = key * 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+}
@@ -0,0 +1,126 @@
+package graph;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Region of a file mapped in memory, addressed with long byte positions.
+ * <p>
+ * A single MappedByteBuffer cannot span more than 2 GB, so the region is
+ * mapped as a sequence of segments of 2^30 bytes. Values are little-endian,
+ * and must be aligned on their size from the start of the region, so that
+ * none straddles two segments. The mapped pages live outside the Java heap:
+ * the operating system pages them in and out, whatever the heap size.
+ * @author Solange U. Gasengayire
+ * @see MappedCsrGraph
+ */
+public final class MappedBuffer {
+
+    // segments of 1 GB
+    private static final int SEGMENT_SHIFT = 30;
+
+    private final MappedByteBuffer[] segments;
+    private final int shift;
+    private final long mask;
+    private final long size;
+
+    /**
+     * Create a new buffer over mapped segments
+     * @param segments the segments, all but the last of 2^shift bytes
+     * @param shift the log2 of the segment size
+     * @param size the size of the region, in bytes
+     */
+    private MappedBuffer(MappedByteBuffer[] segments, int shift, long size) {
+        this.segments = segments;
+        this.shift = shift;
+        this.mask = (1L << shift) - 1;
+        this.size = size;
+    }
+
+    /**
+     * Map a region of a file in memory.
+     * The mapping remains valid after the channel is closed.
+     * @param channel the file channel
+     * @param mode the mapping mode: a read-write mapping grows the file if needed
+     * @param position the start of the region in the file, in bytes
+     * @param size the size of the region, in bytes
+     * @return the mapped region
+     * @throws IOException if the region cannot be mapped
+     */
+    public static MappedBuffer map(FileChannel channel, FileChannel.MapMode mode,
+                                   long position, long size) throws IOException {
+        return map(channel, mode, position, size, SEGMENT_SHIFT);
+    }
+
+    /**
+     * Map a region of a file in memory, in segments of a given size
+     * @param channel the file channel
+     * @param mode the mapping mode
+     * @param position the start of the region in the file, in bytes
+     * @param size the size of the region, in bytes
+     * @param shift the log2 of the segment size (3 at least)
+     * @return the mapped region
+     * @throws IOException if the region cannot be mapped
+     */
+    static MappedBuffer map(FileChannel channel, FileChannel.MapMode mode,
+                            long position, long size, int shift) throws IOException {
+        if (size < 0) {
+            throw new IllegalArgumentException("Negative region size: " + size);
+        }
+        long segmentBytes = 1L << shift;
+        MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((size + segmentBytes - 1) >>> shift)];
+        for (int s = 0; s < segments.length; s++) {
+            long start = (long) s << shift;
+            segments[s] = channel.map(mode, position + start, Math.min(segmentBytes, size - start));
+            segments[s].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new MappedBuffer(segments, shift, size);
+    }
+
+    /**
+     * Return the size of the mapped region
+     * @return size in bytes
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Return the 32 bits integer at a given position
+     * @param position the byte position, a multiple of 4
+     * @return the integer value
+     */
+    public int getInt(long position) {
+        return segments[(int) (position >>> shift)].getInt((int) (position & mask));
+    }
+
+    /**
+     * Update the 32 bits integer at a given position
+     * @param position the byte position, a multiple of 4
+     * @param value the new value
+     */
+    public void putInt(long position, int value) {
+        segments[(int) (position >>> shift)].putInt((int) (position & mask), value);
+    }
+
+    /**
+     * Return the 64 bits integer at a given position
+     * @param position the byte position, a multiple of 8
+     * @return the long value
+     */
+    public long getLong(long position) {
+        return segments[(int) (position >>> shift)].getLong((int) (position & mask));
+    }
+
+    /**
+     * Update the 64 bits integer at a given position
+     * @param position the byte position, a multiple of 8
+     * @param value the new value
+     */
+    public void putLong(long position, long value) {
+        segments[(int) (position >>> shift)].putLong((int) (position & mask), value);
+    }
+
+}
@@ -0,0 +1,155 @@
+package graph;
+
+/**
+ * Compressed sparse row (CSR) graph read in place from a memory-mapped
+ * file: nothing is copied onto the Java heap, and the pages can be shared
+ * across processes. The data can thus be larger than the heap, and than
+ * the 2 GB a single buffer can map.
+ * <p>
+ * Row offsets are 64 bits, so that the graph can hold more adjacency
+ * entries than an int can count. Such graphs are iterated over with long
+ * edge positions (rowStart, rowEnd and target(long)); their int edge
+ * positions overflow, and throw an ArithmeticException.
+ * <p>
+ * The sections follow each other, from a given position in the mapping:
+ * <pre>
+ *     offsets  n + 1 row offsets (64 bits)
+ *     ids      n original vertex ids, by dense index
+ *     lookup   n original ids sorted, then the n matching dense indices
+ *     targets  m neighbor indices
+ * </pre>
+ * @see util.GraphFile
+ * @author Solange U. Gasengayire
+ */
+public final class MappedCsrGraph implements IndexedGraph {
+
+    private final MappedBuffer data;
+    private final long offsets;
+    private final long ids;
+    private final long sortedIds;
+    private final long sortedIndices;
+    private final long targets;
+    private final int vertexCount;
+    private final long edgeCount;
+
+    /**
+     * Create a new graph over a mapped region
+     * @param data the mapped region
+     * @param position the position of the offsets section, a multiple of 8
+     * @param vertexCount the number of vertices
+     * @param edgeCount the number of adjacency entries
+     */
+    public MappedCsrGraph(MappedBuffer data, long position, int vertexCount, long edgeCount) {
+        if (position + sizeOf(vertexCount, edgeCount) > data.size()) {
+            throw new IllegalArgumentException("The mapped region is too small for the graph");
+        }
+        this.data = data;
+        this.offsets = position;
+        this.ids = offsets + Long.BYTES * (vertexCount + 1L);
+        this.sortedIds = ids + (long) Integer.BYTES * vertexCount;
+        this.sortedIndices = sortedIds + (long) Integer.BYTES * vertexCount;
+        this.targets = sortedIndices + (long) Integer.BYTES * vertexCount;
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+    }
+
+    /**
+     * Return the size of the sections of a graph
+     * @param vertexCount the number of vertices
+     * @param edgeCount the number of adjacency entries
+     * @return the size in bytes
+     */
+    public static long sizeOf(int vertexCount, long edgeCount) {
+        return Long.BYTES * (vertexCount + 1L) + Integer.BYTES * (3L * vertexCount + edgeCount);
+    }
+
+    @Override
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public int edgeCount() {
+        return Math.toIntExact(edgeCount);
+    }
+
+    @Override
+    public long arcCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public int degree(int vertex) {
+        return (int) (rowEnd(vertex) - rowStart(vertex));
+    }
+
+    @Override
+    public int edgeStart(int vertex) {
+        return Math.toIntExact(rowStart(vertex));
+    }
+
+    @Override
+    public int edgeEnd(int vertex) {
+        return Math.toIntExact(rowEnd(vertex));
+    }
+
+    @Override
+    public int target(int edge) {
+        return target((long) edge);
+    }
+
+    @Override
+    public long rowStart(int vertex) {
+        return data.getLong(offsets + (long) Long.BYTES * vertex);
+    }
+
+    @Override
+    public long rowEnd(int vertex) {
+        return data.getLong(offsets + Long.BYTES * (vertex + 1L));
+    }
+
+    @Override
+    public int target(long edge) {
+        return data.getInt(targets + Integer.BYTES * edge);
+    }
+
+    @Override
+    public int originalId(int vertex) {
+        return data.getInt(ids + (long) Integer.BYTES * vertex);
+    }
+
+    @Override
+    public int indexOf(int id) {
+        int low = 0;
+        int high = vertexCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int value = data.getInt(sortedIds + (long) Integer.BYTES * middle);
+            if (value < id) {
+                low = middle + 1;
+            } else if (value > id) {
+                high = middle - 1;
+            } else {
+                return data.getInt(sortedIndices + (long) Integer.BYTES * middle);
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public long memoryBytes() {
+        return sizeOf(vertexCount, edgeCount);
+    }
+
+    /**
+     * Return the string representation of this graph
+     * @return a short summary
+     */
+    @Override
+    public String toString() {
+        return "MappedCsrGraph[ vertices: " + vertexCount()
+                + ", edges: " + arcCount()
+                + ", bytes/edge: " + String.format("%.2f", bytesPerEdge()) + " ]";
+    }
+
+}
@@ -1,9 +1,7 @@
 package graph;
 
-import org.graphstream.graph.implementations.AbstractGraph;
-import org.graphstream.graph.implementations.SingleNode;
-
 import java.util.HashSet;
+import java.util.Set;
 
 /**
  * This class represents a vertex (a node)
@@ -11,32 +9,43 @@ import java.util.HashSet;
  * @author Solange U. Gasengayire
  *
  */
-class Vertex extends SingleNode {
+class Vertex {
 
     private int vertexId;
-    @SuppressWarnings("MismatchedQueryAndUpdateOfCollection")
     private HashSet<Edge> edges;
 
     /**
      * Create a new graph vertex
-     * @param graph the graph to which this vertex is added
      * @param id the vertex id
      */
-    Vertex(AbstractGraph graph, String id) {
-        super(graph, id);
-
-        this.vertexId = Integer.valueOf(id);
+    Vertex(int id) {
+        this.vertexId = id;
         this.edges = new HashSet<>();
     }
 
+    /**
+     * Return this vertex id
+     * @return the vertex id
+     */
+    int getVertexId() {
+        return vertexId;
+    }
+
     /**
      * Add a connection to this vertex set of edges
      * @param edge the connection to be added
+     * @return true if the connection was not already there
+     */
+    boolean addEdge(Edge edge) {
+       return edge != null && edges.add(edge);
+    }
+
+    /**
+     * Return this vertex set of edges
+     * @return the outgoing connections
      */
-    void addEdge(Edge edge) {
-       if (edge != null) {
-           edges.add(edge);
-       }
+    Set<Edge> getEdges() {
+        return edges;
     }
 
     /**
@@ -0,0 +1,251 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * Orders of the dense vertex indices of a graph.
+ * <p>
+ * Dense indices first follow the order in which vertices appear in the
+ * data file, so the neighbors of a vertex are scattered across memory.
+ * Relabeling the vertices so that neighbors get close indices makes the
+ * neighbor scans of the algorithms touch fewer cache lines and pages.
+ * The original ids follow their vertices: originalId and indexOf map
+ * the new indices back and forth.
+ * @author Solange U. Gasengayire
+ * @see CsrGraph#permute(int[])
+ */
+public enum VertexOrder {
+
+    /** Order of first appearance (no relabeling) */
+    FILE {
+        @Override
+        public int[] order(IndexedGraph graph) {
+            int[] order = new int[graph.vertexCount()];
+            for (int v = 0; v < order.length; v++) {
+                order[v] = v;
+            }
+            return order;
+        }
+    },
+
+    /** Breadth-first order, each connected component in turn */
+    BFS {
+        @Override
+        public int[] order(IndexedGraph graph) {
+            int count = graph.vertexCount();
+            int[] order = new int[count];
+            boolean[] placed = new boolean[count];
+            int tail = 0;
+            for (int root = 0; root < count; root++) {
+                if (! placed[root]) {
+                    tail = breadthFirst(graph, root, order, tail, placed, false);
+                }
+            }
+            return order;
+        }
+    },
+
+    /**
+     * Reverse Cuthill-McKee order: breadth-first from a vertex of
+     * minimal degree, neighbors by increasing degree, then reversed.
+     * This narrows the band of the adjacency matrix.
+     */
+    REVERSE_CUTHILL_MCKEE {
+        @Override
+        public int[] order(IndexedGraph graph) {
+            int count = graph.vertexCount();
+            int[] order = new int[count];
+            boolean[] placed = new boolean[count];
+            int[] byDegree = DEGREE.order(graph);
+            int tail = 0;
+            for (int i = count - 1; i >= 0; i--) {
+                // lowest degrees first
+                int root = byDegree[i];
+                if (! placed[root]) {
+                    tail = breadthFirst(graph, root, order, tail, placed, true);
+                }
+            }
+            for (int i = 0, j = count - 1; i < j; i++, j--) {
+                int swap = order[i];
+                order[i] = order[j];
+                order[j] = swap;
+            }
+            return order;
+        }
+    },
+
+    /** Decreasing degree order: hubs, and their rows, come first */
+    DEGREE {
+        @Override
+        public int[] order(IndexedGraph graph) {
+            int count = graph.vertexCount();
+            int maxDegree = 0;
+            for (int v = 0; v < count; v++) {
+                maxDegree = Math.max(maxDegree, graph.degree(v));
+            }
+
+            // counting sort, stable within a degree
+            int[] starts = new int[maxDegree + 2];
+            for (int v = 0; v < count; v++) {
+                starts[maxDegree - graph.degree(v) + 1]++;
+            }
+            for (int d = 0; d <= maxDegree; d++) {
+                starts[d + 1] += starts[d];
+            }
+            int[] order = new int[count];
+            for (int v = 0; v < count; v++) {
+                order[starts[maxDegree - graph.degree(v)]++] = v;
+            }
+            return order;
+        }
+    },
+
+    /**
+     * Community order, in the spirit of Rabbit Order: communities are
+     * found by label propagation, and laid out one after the other,
+     * in breadth-first order within each one.
+     */
+    COMMUNITY {
+        @Override
+        public int[] order(IndexedGraph graph) {
+            int count = graph.vertexCount();
+            int[] labels = propagateLabels(graph);
+
+            // rank the communities as they are met in breadth-first order
+            int[] bfs = BFS.order(graph);
+            int[] rank = new int[count];
+            Arrays.fill(rank, -1);
+            int communities = 0;
+            int[] sizes = new int[count + 1];
+            for (int v : bfs) {
+                if (rank[labels[v]] < 0) {
+                    rank[labels[v]] = communities++;
+                }
+                sizes[rank[labels[v]] + 1]++;
+            }
+            for (int c = 0; c < communities; c++) {
+                sizes[c + 1] += sizes[c];
+            }
+
+            // stable bucket sort of the breadth-first order by community
+            int[] order = new int[count];
+            for (int v : bfs) {
+                order[sizes[rank[labels[v]]]++] = v;
+            }
+            return order;
+        }
+    };
+
+    // label propagation rounds, enough for the labels to settle on social graphs
+    private static final int LABEL_ROUNDS = 5;
+
+    /**
+     * Return a new order of the vertices of a graph
+     * @param graph the graph at hand
+     * @return the vertex at each new position: order[k] is the
+     *         current index of the vertex that gets index k
+     */
+    public abstract int[] order(IndexedGraph graph);
+
+    /**
+     * Relabel the vertices of a graph in this order
+     * @param graph the graph at hand
+     * @return the relabeled graph
+     */
+    public CsrGraph apply(CsrGraph graph) {
+        return this == FILE ? graph : graph.permute(order(graph));
+    }
+
+    /**
+     * Place the vertices reached breadth-first from a root
+     * @param graph the graph at hand
+     * @param root the root vertex
+     * @param order the order being built, also used as the queue
+     * @param tail the number of vertices already placed
+     * @param placed the placed vertex flags
+     * @param byDegree true to place the neighbors of a vertex by
+     *                 increasing degree, false to keep the row order
+     * @return the number of vertices placed
+     */
+    private static int breadthFirst(IndexedGraph graph, int root, int[] order, int tail,
+                                    boolean[] placed, boolean byDegree) {
+        int head = tail;
+        order[tail++] = root;
+        placed[root] = true;
+        while (head < tail) {
+            int current = order[head++];
+            int mark = tail;
+            for (long e = graph.rowStart(current); e < graph.rowEnd(current); e++) {
+                int node = graph.target(e);
+                if (! placed[node]) {
+                    placed[node] = true;
+                    order[tail++] = node;
+                }
+            }
+            if (byDegree && tail - mark > 1) {
+                sortByDegree(graph, order, mark, tail);
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Sort a range of vertices by increasing degree, then index
+     * @param graph the graph at hand
+     * @param vertices the vertices
+     * @param from the first position (inclusive)
+     * @param to the last position (exclusive)
+     */
+    private static void sortByDegree(IndexedGraph graph, int[] vertices, int from, int to) {
+        long[] keys = new long[to - from];
+        for (int i = from; i < to; i++) {
+            keys[i - from] = ((long) graph.degree(vertices[i]) << 32) | vertices[i];
+        }
+        Arrays.sort(keys);
+        for (int i = from; i < to; i++) {
+            vertices[i] = (int) keys[i - from];
+        }
+    }
+
+    /**
+     * Find communities by label propagation: each vertex takes, in turn,
+     * the label most frequent among its neighbors (the lowest on ties)
+     * @param graph the graph at hand
+     * @return the label of each vertex, a vertex index of its community
+     */
+    private static int[] propagateLabels(IndexedGraph graph) {
+        int count = graph.vertexCount();
+        int[] labels = new int[count];
+        for (int v = 0; v < count; v++) {
+            labels[v] = v;
+        }
+        int[] frequency = new int[count];
+        for (int round = 0; round < LABEL_ROUNDS; round++) {
+            boolean changed = false;
+            for (int v = 0; v < count; v++) {
+                int best = labels[v];
+                int bestFrequency = 0;
+                for (long e = graph.rowStart(v); e < graph.rowEnd(v); e++) {
+                    int label = labels[graph.target(e)];
+                    int f = ++frequency[label];
+                    if (f > bestFrequency || (f == bestFrequency && label < best)) {
+                        best = label;
+                        bestFrequency = f;
+                    }
+                }
+                for (long e = graph.rowStart(v); e < graph.rowEnd(v); e++) {
+                    frequency[labels[graph.target(e)]] = 0;
+                }
+                if (bestFrequency > 0 && best != labels[v]) {
+                    labels[v] = best;
+                    changed = true;
+                }
+            }
+            if (! changed) {
+                break;
+            }
+        }
+        return labels;
+    }
+
+}
@@ -0,0 +1,51 @@
+package gui;
+
+import java.util.Arrays;
+
+/**
+ * A batch of vertex state changes, published by the simulation
+ * thread and applied to the display by the UI side
+ * @author Solange U. Gasengayire
+ */
+final class CascadeDelta {
+
+    // whether all vertices go back to their default state first
+    final boolean reset;
+
+    // changed vertices, and their new states, in order
+    final int[] vertices;
+    final byte[] states;
+    final int size;
+
+    /**
+     * Create a new batch
+     * @param reset whether the batch starts with a reset
+     * @param vertices the (dense) indices of the changed vertices
+     * @param states the new vertex states
+     * @param size the number of changes
+     */
+    CascadeDelta(boolean reset, int[] vertices, byte[] states, int size) {
+        this.reset = reset;
+        this.vertices = vertices;
+        this.states = states;
+        this.size = size;
+    }
+
+    /**
+     * Return the batch made of this batch followed by another one
+     * @param next the later batch
+     * @return the merged batch
+     */
+    CascadeDelta merge(CascadeDelta next) {
+        if (next.reset) {
+            // the later batch starts over
+            return next;
+        }
+        int[] mergedVertices = Arrays.copyOf(vertices, size + next.size);
+        byte[] mergedStates = Arrays.copyOf(states, size + next.size);
+        System.arraycopy(next.vertices, 0, mergedVertices, size, next.size);
+        System.arraycopy(next.states, 0, mergedStates, size, next.size);
+        return new CascadeDelta(reset, mergedVertices, mergedStates, size + next.size);
+    }
+
+}
@@ -0,0 +1,149 @@
+package gui;
+
+import algorithm.CascadeEngine;
+import algorithm.CascadeListener;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Simulation side of the batched visualization.
+ * State changes are collected into a batch, published into a bounded
+ * queue at the end of each round (or when the batch gets large, since
+ * sequential runs have no rounds) for a pump to apply.
+ * <p>
+ * Publishing never waits: when the queue is full, the batch keeps growing
+ * and is published later. The last batch of a run cannot wait for a later
+ * publication, so it is set aside (merged with any batch already set
+ * aside) and handed out once the queue is drained: the final state is
+ * always displayed, even when nothing drains the queue any more.
+ * @see GraphViewPump
+ * @author Solange U. Gasengayire
+ */
+public class CascadeDeltaPublisher implements CascadeListener {
+
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final int BATCH_SIZE = 1024;
+
+    private final BlockingQueue<CascadeDelta> queue;
+
+    // the last batches that did not fit into the queue, applied after it
+    private final AtomicReference<CascadeDelta> pending = new AtomicReference<>();
+
+    // the batch being collected
+    private boolean reset;
+    private int[] vertices = new int[BATCH_SIZE];
+    private byte[] states = new byte[BATCH_SIZE];
+    private int size;
+    private int flushSize = BATCH_SIZE;
+
+    /**
+     * Create a new publisher with a default queue capacity
+     */
+    public CascadeDeltaPublisher() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a new publisher
+     * @param capacity the maximum number of batches waiting to be applied
+     */
+    public CascadeDeltaPublisher(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public void stateReset(int vertexCount) {
+        // the batches of a previous run are superseded
+        queue.clear();
+        pending.set(null);
+        size = 0;
+        reset = true;
+        publish(false);
+    }
+
+    @Override
+    public void vertexSeeded(int vertex) {
+        add(vertex, CascadeEngine.SEEDED);
+    }
+
+    @Override
+    public void seedingFinished() {
+        publish(false);
+    }
+
+    @Override
+    public void vertexSwitched(int vertex) {
+        add(vertex, CascadeEngine.SWITCHED);
+    }
+
+    @Override
+    public void roundFinished(int round) {
+        publish(false);
+    }
+
+    @Override
+    public void cascadeFinished(int seeded, int switched) {
+        publish(true);
+    }
+
+    /**
+     * Return the next batch to apply
+     * @return the oldest published batch, or null if there is none
+     */
+    CascadeDelta poll() {
+        CascadeDelta delta = queue.poll();
+        return delta != null ? delta : pending.getAndSet(null);
+    }
+
+    /**
+     * Add a state change to the current batch
+     * @param vertex the vertex index
+     * @param state the new vertex state
+     */
+    private void add(int vertex, byte state) {
+        if (size == vertices.length) {
+            vertices = Arrays.copyOf(vertices, 2 * size);
+            states = Arrays.copyOf(states, 2 * size);
+        }
+        vertices[size] = vertex;
+        states[size] = state;
+        size++;
+        if (size >= flushSize) {
+            publish(false);
+        }
+    }
+
+    /**
+     * Publish the current batch
+     * @param last whether no later publication follows
+     */
+    private void publish(boolean last) {
+        if (size == 0 && ! reset) {
+            return;
+        }
+        CascadeDelta delta = new CascadeDelta(reset, vertices, states, size);
+        CascadeDelta previous = pending.getAndSet(null);
+        if (previous != null) {
+            // batches set aside come after the queue: later ones must follow them
+            pending.set(previous.merge(delta));
+        } else if (! queue.offer(delta)) {
+            if (last) {
+                // the queue is full: set the batch aside rather than wait
+                pending.set(delta);
+            } else {
+                // the queue is full: keep collecting, and try again later
+                flushSize = Math.max(2 * size, BATCH_SIZE);
+                return;
+            }
+        }
+        reset = false;
+        vertices = new int[BATCH_SIZE];
+        states = new byte[BATCH_SIZE];
+        size = 0;
+        flushSize = BATCH_SIZE;
+    }
+
+}
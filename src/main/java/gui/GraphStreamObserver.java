@@ -0,0 +1,57 @@
+package gui;
+
+import algorithm.CascadeListener;
+import org.graphstream.graph.Node;
+
+/**
+ * This class mirrors the state of a cascade simulation
+ * onto the "ui.class" attribute of the displayed graph nodes.
+ * Vertices left out of a sampled view are ignored.
+ * Changes are applied as they come, on the simulation thread: to animate
+ * a run, publish it to a pump instead.
+ * @see GraphViewPump
+ * @author Solange U. Gasengayire
+ */
+public class GraphStreamObserver implements CascadeListener {
+
+    private final GraphView view;
+
+    /**
+     * Create a new observer
+     * @param view the displayed graph
+     */
+    public GraphStreamObserver(GraphView view) {
+        this.view = view;
+    }
+
+    @Override
+    public void stateReset(int vertexCount) {
+        for (Node node: view.getDisplay().getNodeSet()) {
+            node.removeAttribute("ui.class");
+            node.setAttribute("ui.class", "default");
+        }
+    }
+
+    @Override
+    public void vertexSeeded(int vertex) {
+        mark(vertex, "seeded");
+    }
+
+    @Override
+    public void vertexSwitched(int vertex) {
+        mark(vertex, "switched");
+    }
+
+    /**
+     * Set the "ui.class" attribute of a vertex node
+     * @param vertex the dense vertex index
+     * @param uiClass the new class
+     */
+    private void mark(int vertex, String uiClass) {
+        Node node = view.getNode(vertex);
+        if (node != null) {
+            node.setAttribute("ui.class", uiClass);
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+package gui;
+
+import graph.IndexedGraph;
+import org.graphstream.graph.Graph;
+import org.graphstream.graph.Node;
+import org.graphstream.graph.implementations.SingleGraph;
+
+/**
+ * GraphStream view of an indexed graph.
+ * The algorithms run on the indexed graph; this adapter only builds the
+ * GraphStream elements to display, and maps dense vertex indices to them.
+ * <p>
+ * Large graphs can be displayed through a sample: vertices are taken in
+ * breadth-first order (so that the sample stays connected) up to a given
+ * count, along with the edges between them. Vertices left out of the
+ * sample have no node.
+ * @author Solange U. Gasengayire
+ */
+public class GraphView {
+
+    private final Graph display;
+    private final Node[] nodes;
+    private final int displayedVertices;
+
+    /**
+     * Create a view of a whole graph
+     * @param id the displayed graph id
+     * @param graph the graph at hand
+     */
+    public GraphView(String id, IndexedGraph graph) {
+        this(id, graph, graph.vertexCount());
+    }
+
+    /**
+     * Create a view of a sample of a graph
+     * @param id the displayed graph id
+     * @param graph the graph at hand
+     * @param maxVertices the maximum number of displayed vertices
+     */
+    public GraphView(String id, IndexedGraph graph, int maxVertices) {
+        int count = graph.vertexCount();
+        int limit = Math.max(0, Math.min(maxVertices, count));
+        int[] sample = sample(graph, limit);
+
+        this.display = new SingleGraph(id, false, true, limit, 16);
+        this.nodes = new Node[count];
+        for (int vertex : sample) {
+            nodes[vertex] = display.addNode(String.valueOf(graph.originalId(vertex)));
+        }
+        for (int vertex : sample) {
+            for (long e = graph.rowStart(vertex); e < graph.rowEnd(vertex); e++) {
+                int neighbor = graph.target(e);
+                // rows are symmetric: add each connection once
+                if (vertex < neighbor && nodes[neighbor] != null) {
+                    display.addEdge(graph.originalId(vertex) + "-" + graph.originalId(neighbor),
+                                    nodes[vertex], nodes[neighbor]);
+                }
+            }
+        }
+        this.displayedVertices = limit;
+    }
+
+    /**
+     * Return the GraphStream graph to display
+     * @return the displayed graph
+     */
+    public Graph getDisplay() {
+        return display;
+    }
+
+    /**
+     * Return the displayed node of a vertex
+     * @param vertex the dense vertex index
+     * @return the node, or null if the vertex is not displayed
+     */
+    public Node getNode(int vertex) {
+        return nodes[vertex];
+    }
+
+    /**
+     * Return the number of displayed vertices
+     * @return displayed vertex count
+     */
+    public int getDisplayedVertices() {
+        return displayedVertices;
+    }
+
+    /**
+     * Select vertices in breadth-first order, restarting from the
+     * next unselected vertex whenever a component is exhausted
+     * @param graph the graph at hand
+     * @param limit the number of vertices to select
+     * @return the (dense) indices of the selected vertices
+     */
+    private static int[] sample(IndexedGraph graph, int limit) {
+        int[] queue = new int[limit];
+        boolean[] selected = new boolean[graph.vertexCount()];
+        int head = 0;
+        int tail = 0;
+        for (int root = 0; tail < limit; root++) {
+            if (selected[root]) {
+                continue;
+            }
+            selected[root] = true;
+            queue[tail++] = root;
+            while (head < tail && tail < limit) {
+                int vertex = queue[head++];
+                for (long e = graph.rowStart(vertex); e < graph.rowEnd(vertex) && tail < limit; e++) {
+                    int neighbor = graph.target(e);
+                    if (! selected[neighbor]) {
+                        selected[neighbor] = true;
+                        queue[tail++] = neighbor;
+                    }
+                }
+            }
+        }
+        return queue;
+    }
+
+}
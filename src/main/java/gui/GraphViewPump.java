@@ -0,0 +1,137 @@
+package gui;
+
+import algorithm.CascadeEngine;
+import org.graphstream.graph.Node;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UI side of the batched visualization.
+ * At a fixed frame rate, this pump applies the batches published by the
+ * simulation to the "ui.class" attribute of the displayed nodes, a bounded
+ * number of changes per frame. It is then the only thread writing to the
+ * displayed graph, and the simulation never waits for the display while
+ * it runs.
+ * @see CascadeDeltaPublisher
+ * @author Solange U. Gasengayire
+ */
+public class GraphViewPump {
+
+    private final GraphView view;
+    private final CascadeDeltaPublisher publisher;
+    private volatile int changesPerFrame;
+
+    // the batch being applied, and the position of its next change
+    private CascadeDelta current;
+    private int position;
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * Create a new pump
+     * @param view the displayed graph
+     * @param publisher the source of the state changes
+     * @param changesPerFrame the maximum number of changes applied per frame
+     */
+    public GraphViewPump(GraphView view, CascadeDeltaPublisher publisher, int changesPerFrame) {
+        this.view = view;
+        this.publisher = publisher;
+        setChangesPerFrame(changesPerFrame);
+    }
+
+    /**
+     * Update the maximum number of changes applied per frame,
+     * that is the speed of the animation
+     * @param changesPerFrame the new value
+     */
+    public void setChangesPerFrame(int changesPerFrame) {
+        if (changesPerFrame <= 0) {
+            throw new IllegalArgumentException("Changes per frame must be positive: " + changesPerFrame);
+        }
+        this.changesPerFrame = changesPerFrame;
+    }
+
+    /**
+     * Start applying changes on a background thread
+     * @param framesPerSecond the frame rate
+     */
+    public synchronized void start(int framesPerSecond) {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "graph-view-pump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = TimeUnit.SECONDS.toNanos(1) / Math.max(framesPerSecond, 1);
+        executor.scheduleAtFixedRate(this::pump, 0, period, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stop applying changes, once the current frame is applied
+     */
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            executor = null;
+        }
+    }
+
+    /**
+     * Apply the changes of one frame
+     * @return the number of applied changes
+     */
+    public int pump() {
+        int limit = changesPerFrame;
+        int applied = 0;
+        while (applied < limit) {
+            if (current == null || position == current.size) {
+                current = publisher.poll();
+                position = 0;
+                if (current == null) {
+                    break;
+                }
+                if (current.reset) {
+                    for (Node node : view.getDisplay().getNodeSet()) {
+                        node.setAttribute("ui.class", "default");
+                    }
+                }
+            }
+            int end = Math.min(current.size, position + limit - applied);
+            for (int i = position; i < end; i++) {
+                Node node = view.getNode(current.vertices[i]);
+                if (node != null) {
+                    node.setAttribute("ui.class", uiClass(current.states[i]));
+                }
+            }
+            applied += end - position;
+            position = end;
+        }
+        return applied;
+    }
+
+    /**
+     * Return the "ui.class" attribute value of a vertex state
+     * @param state the vertex state
+     * @return the ui class
+     */
+    private static String uiClass(byte state) {
+        switch (state) {
+            case CascadeEngine.SEEDED:
+                return "seeded";
+            case CascadeEngine.SWITCHED:
+                return "switched";
+            default:
+                return "default";
+        }
+    }
+
+}
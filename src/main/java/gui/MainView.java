@@ -9,6 +9,7 @@ import javafx.geometry.Pos;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ProgressBar;
+import javafx.scene.control.Slider;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -20,6 +21,8 @@ import org.graphstream.ui.swingViewer.ViewPanel;
 import javax.swing.*;
 import java.io.InputStream;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * This class represents the main GUI
@@ -35,6 +38,7 @@ public class MainView extends StackPane {
     private TextField aTextField;
     private TextField bTextField;
     private Button launchButton;
+    private Slider roundSlider;
 
     private GridPane legend;
     private Label totalLabel;
@@ -44,6 +48,14 @@ public class MainView extends StackPane {
     private InformationCascade algorithm;
     private ViewPanel graphPanel;
 
+    // runs the simulations and their replays off the FX thread, one after the other
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            runnable -> {
+                Thread thread = new Thread(runnable, "cascade-simulation");
+                thread.setDaemon(true);
+                return thread;
+            });
+
     /**
      * Create this view
      */
@@ -98,13 +110,20 @@ public class MainView extends StackPane {
         progressBar.setPrefWidth(400);
         progressBar.setVisible(false);
 
+        Label roundLabel = new Label("Round");
+        roundLabel.getStyleClass().add(".label");
+        roundSlider = getRoundSlider();
+        HBox rBox = new HBox(10);
+        rBox.setAlignment(Pos.CENTER);
+        rBox.getChildren().addAll(roundLabel, roundSlider);
+
         launchButton = getLaunchButton();
         HBox lBox = new HBox(40);
         lBox.setPadding(new Insets(0, 15, 0, 0));
         lBox.setAlignment(Pos.CENTER_RIGHT);
         lBox.getChildren().addAll(progressBar, launchButton);
 
-        topPane.getChildren().addAll(aBox, bBox, lBox);
+        topPane.getChildren().addAll(aBox, bBox, rBox, lBox);
         HBox.setHgrow(lBox, Priority.ALWAYS);
 
         topPane.requestLayout();
@@ -143,6 +162,30 @@ public class MainView extends StackPane {
         return textField;
     }
 
+    /**
+     * Create and initialize a slider to scrub through the rounds
+     * of the last simulation. It is disabled until a simulation finishes.
+     * @return a slider
+     */
+    private Slider getRoundSlider() {
+        Slider slider = new Slider(0, 0, 0);
+        slider.setPrefWidth(200.0);
+        slider.setMajorTickUnit(1);
+        slider.setMinorTickCount(0);
+        slider.setSnapToTicks(true);
+        slider.setDisable(true);
+
+        slider.valueProperty().addListener(
+                (observable, oldValue, newValue) -> {
+                    int rounds = (int) Math.round(newValue.doubleValue());
+                    if (!slider.isDisabled() && rounds != (int) Math.round(oldValue.doubleValue())) {
+                        executor.execute(() -> algorithm.replay(rounds));
+                    }
+                }
+        );
+        return slider;
+    }
+
     /**
      * Create and initialize a launch button
      * @return a button
@@ -171,6 +214,7 @@ public class MainView extends StackPane {
                     aTextField.setDisable(true);
                     bTextField.setDisable(true);
                     launchButton.setDisable(true);
+                    roundSlider.setDisable(true);
                     legend.setVisible(false);
 
                     progressBar.setVisible(true);
@@ -186,6 +230,12 @@ public class MainView extends StackPane {
                                 bTextField.setDisable(false);
                                 launchButton.setDisable(false);
 
+                                // the slider ends on the state the run left on display
+                                int rounds = algorithm.getLog().getRoundCount();
+                                roundSlider.setMax(rounds);
+                                roundSlider.setValue(rounds);
+                                roundSlider.setDisable(false);
+
                                 totalLabel.setText("initial vertices: "
                                         + String.valueOf(algorithm.getTotalVertices()));
                                 seededLabel.setText("seeded vertices: "
@@ -246,7 +296,7 @@ public class MainView extends StackPane {
                 return "simulations";
             }
         };
-        new Thread(simulationTask).start();
+        executor.execute(simulationTask);
 
         return simulationTask;
     }
@@ -0,0 +1,204 @@
+package util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Byte-level parser of edge list files.
+ * Each line holds 2 integers, a "from" vertex id and a "to" vertex id,
+ * separated by any non-digit characters. Lines starting with '#'
+ * (as in SNAP files) are skipped. Numbers are decoded straight from
+ * a reused read buffer: no String is created per token. Numbers out of
+ * the int range are rejected, rather than wrapped into other ids.
+ * @author Solange U. Gasengayire
+ */
+public final class EdgeListParser {
+
+    /**
+     * Receiver of the parsed edges
+     */
+    @FunctionalInterface
+    public interface EdgeHandler {
+
+        /**
+         * Handle an edge
+         * @param from the origin vertex id
+         * @param to the destination vertex id
+         */
+        void edge(int from, int to);
+    }
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final EdgeHandler handler;
+
+    // parsing state, kept across buffer boundaries
+    private long value;
+    private boolean inNumber;
+    private boolean negative;
+    private boolean comment;
+    private boolean lineStart = true;
+    private int first;
+    private boolean hasFirst;
+    private long edges;
+
+    private EdgeListParser(EdgeHandler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Parse the edges of a file
+     * @param path the file path
+     * @param handler the edge receiver
+     * @return the number of parsed edges
+     * @throws IOException if the file cannot be read
+     */
+    public static long parse(Path path, EdgeHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return parse(channel, handler);
+        }
+    }
+
+    /**
+     * Parse the edges of a stream.
+     * The stream is not closed.
+     * @param stream the data stream
+     * @param handler the edge receiver
+     * @return the number of parsed edges
+     * @throws IOException if the stream cannot be read
+     */
+    public static long parse(InputStream stream, EdgeHandler handler) throws IOException {
+        return parse(Channels.newChannel(stream), handler);
+    }
+
+    /**
+     * Parse the edges of a channel.
+     * The channel is not closed.
+     * @param channel the data channel
+     * @param handler the edge receiver
+     * @return the number of parsed edges
+     * @throws IOException if the channel cannot be read
+     */
+    public static long parse(ReadableByteChannel channel, EdgeHandler handler) throws IOException {
+        EdgeListParser parser = new EdgeListParser(handler);
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        while (channel.read(buffer) >= 0) {
+            parser.feed(buffer.array(), 0, buffer.position());
+            buffer.clear();
+        }
+        parser.finish();
+        return parser.edges;
+    }
+
+    /**
+     * Parse the edges of a byte range of a file channel.
+     * Reads are positional, so that ranges of the same channel
+     * can be parsed concurrently, each with its own buffer.
+     * @param channel the file channel
+     * @param start the first byte of the range (inclusive)
+     * @param end the last byte of the range (exclusive)
+     * @param handler the edge receiver
+     * @return the number of parsed edges
+     * @throws IOException if the channel cannot be read
+     */
+    static long parse(FileChannel channel, long start, long end, EdgeHandler handler) throws IOException {
+        EdgeListParser parser = new EdgeListParser(handler);
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, Math.max(end - start, 1)));
+        long position = start;
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            parser.feed(buffer.array(), 0, read);
+            position += read;
+        }
+        parser.finish();
+        return parser.edges;
+    }
+
+    /**
+     * Parse a chunk of bytes
+     * @param bytes the data
+     * @param from the first byte (inclusive)
+     * @param to the last byte (exclusive)
+     * @throws IOException if a number is out of the int range
+     */
+    private void feed(byte[] bytes, int from, int to) throws IOException {
+        for (int i = from; i < to; i++) {
+            byte b = bytes[i];
+            if (comment) {
+                if (b == '\n') {
+                    comment = false;
+                    lineStart = true;
+                }
+            } else if (b >= '0' && b <= '9') {
+                value = value * 10 + (b - '0');
+                if (value > Integer.MAX_VALUE + 1L) {
+                    throw outOfRange();
+                }
+                inNumber = true;
+                lineStart = false;
+            } else if (b == '-' && ! inNumber) {
+                negative = true;
+                lineStart = false;
+            } else if (b == '#' && lineStart) {
+                comment = true;
+            } else {
+                endNumber();
+                lineStart = b == '\n' || (lineStart && (b == ' ' || b == '\t' || b == '\r'));
+            }
+        }
+    }
+
+    /**
+     * Flush the pending number, if any
+     * @throws IOException if the number is out of the int range
+     */
+    private void finish() throws IOException {
+        endNumber();
+    }
+
+    /**
+     * Terminate the number being decoded and pair it
+     * with the previous one to emit an edge
+     * @throws IOException if the number is out of the int range
+     */
+    private void endNumber() throws IOException {
+        if (inNumber) {
+            long signed = negative ? -value : value;
+            if (signed > Integer.MAX_VALUE) {
+                throw outOfRange();
+            }
+            int number = (int) signed;
+            if (hasFirst) {
+                handler.edge(first, number);
+                edges++;
+                hasFirst = false;
+            } else {
+                first = number;
+                hasFirst = true;
+            }
+        }
+        value = 0;
+        inNumber = false;
+        negative = false;
+    }
+
+    /**
+     * Return the error raised by a number out of the int range
+     * @return the exception to throw
+     */
+    private IOException outOfRange() {
+        return new IOException("Vertex id out of the int range, after " + edges + " edges");
+    }
+
+}
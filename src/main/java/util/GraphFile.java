@@ -0,0 +1,198 @@
+package util;
+
+import graph.IndexedGraph;
+import graph.MappedBuffer;
+import graph.MappedCsrGraph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Compact binary graph format.
+ * All values are little-endian 32 bits integers, unless stated otherwise:
+ * <pre>
+ *     header   magic "IFGR", version, vertex count n, reserved, edge count m (64 bits)
+ *     offsets  n + 1 row offsets (64 bits)
+ *     ids      n original vertex ids, by dense index
+ *     lookup   n original ids sorted, then the n matching dense indices
+ *     targets  m neighbor indices
+ * </pre>
+ * Opening a file maps it in memory: the graph is read in place,
+ * without parsing nor copying, and stays off the Java heap.
+ * @author Solange U. Gasengayire
+ * @see MappedCsrGraph
+ */
+public final class GraphFile {
+
+    /** File format identifier ("IFGR") */
+    static final int MAGIC = 0x52474649;
+    /** Current file format version */
+    static final int VERSION = 2;
+
+    private static final int HEADER_BYTES = 24;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private GraphFile() {}
+
+    /**
+     * Write a graph to a binary file
+     * @param graph the graph to write
+     * @param path the file path
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(IndexedGraph graph, Path path) throws IOException {
+        int count = graph.vertexCount();
+        int[] ids = new int[count];
+        for (int v = 0; v < count; v++) {
+            ids[v] = graph.originalId(v);
+        }
+
+        try (FileChannel channel = create(path)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(0).putLong(graph.arcCount());
+
+            // rows are written one after the other, whatever their layout in the graph
+            long offset = 0;
+            putLong(channel, buffer, offset);
+            for (int v = 0; v < count; v++) {
+                offset += graph.degree(v);
+                putLong(channel, buffer, offset);
+            }
+            putIds(channel, buffer, ids);
+            for (int v = 0; v < count; v++) {
+                for (long e = graph.rowStart(v); e < graph.rowEnd(v); e++) {
+                    put(channel, buffer, graph.target(e));
+                }
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Write a graph held in a mapped region to a binary file
+     * @param path the file path
+     * @param ids the original id of each dense index
+     * @param offsets the row offsets (vertex count + 1 entries)
+     * @param targets the neighbor indices
+     * @throws IOException if the file cannot be written
+     */
+    static void write(Path path, int[] ids, long[] offsets, MappedBuffer targets) throws IOException {
+        int count = ids.length;
+        try (FileChannel channel = create(path)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(0).putLong(offsets[count]);
+
+            for (long offset : offsets) {
+                putLong(channel, buffer, offset);
+            }
+            putIds(channel, buffer, ids);
+            for (long e = 0; e < offsets[count]; e++) {
+                put(channel, buffer, targets.getInt(Integer.BYTES * e));
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Open a binary graph file by mapping it in memory
+     * @param path the file path
+     * @return the mapped graph
+     * @throws IOException if the file cannot be read, or is not a valid graph file
+     */
+    public static MappedCsrGraph open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException(path + " is not a graph file");
+            }
+
+            // the mapping remains valid after the channel is closed
+            MappedBuffer mapping = MappedBuffer.map(channel, FileChannel.MapMode.READ_ONLY, 0, size);
+            if (mapping.getInt(0) != MAGIC) {
+                throw new IOException(path + " is not a graph file");
+            }
+            int version = mapping.getInt(4);
+            if (version != VERSION) {
+                throw new IOException(path + " has unsupported version " + version);
+            }
+            int count = mapping.getInt(8);
+            long edges = mapping.getLong(16);
+            if (count < 0 || edges < 0 || size != HEADER_BYTES + MappedCsrGraph.sizeOf(count, edges)) {
+                throw new IOException(path + " is truncated or corrupted");
+            }
+            return new MappedCsrGraph(mapping, HEADER_BYTES, count, edges);
+        }
+    }
+
+    /**
+     * Create (or truncate) a file to write
+     * @param path the file path
+     * @return the file channel
+     * @throws IOException if the file cannot be created
+     */
+    private static FileChannel create(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Append the ids and the id lookup sections
+     * @param channel the file channel
+     * @param buffer the write buffer
+     * @param ids the original id of each dense index
+     */
+    private static void putIds(FileChannel channel, ByteBuffer buffer, int[] ids) throws IOException {
+        long[] pairs = new long[ids.length];
+        for (int v = 0; v < ids.length; v++) {
+            pairs[v] = ((long) ids[v] << 32) | v;
+        }
+        Arrays.sort(pairs);
+
+        for (int id : ids) {
+            put(channel, buffer, id);
+        }
+        for (long pair : pairs) {
+            put(channel, buffer, (int) (pair >> 32));
+        }
+        for (long pair : pairs) {
+            put(channel, buffer, (int) pair);
+        }
+    }
+
+    /**
+     * Append a value to the write buffer, flushing it when full
+     */
+    private static void put(FileChannel channel, ByteBuffer buffer, int value) throws IOException {
+        if (buffer.remaining() < Integer.BYTES) {
+            flush(channel, buffer);
+        }
+        buffer.putInt(value);
+    }
+
+    /**
+     * Append a 64 bits value to the write buffer, flushing it when full
+     */
+    private static void putLong(FileChannel channel, ByteBuffer buffer, long value) throws IOException {
+        if (buffer.remaining() < Long.BYTES) {
+            flush(channel, buffer);
+        }
+        buffer.putLong(value);
+    }
+
+    /**
+     * Write the content of the buffer to the channel
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+}
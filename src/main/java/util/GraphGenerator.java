@@ -0,0 +1,451 @@
+package util;
+
+import graph.CsrGraph;
+import graph.Graph;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Streaming generators of synthetic graphs, for scale testing:
+ * Erdős–Rényi, Barabási–Albert, Watts–Strogatz and stochastic block model.
+ * <p>
+ * A generator splits its edges into blocks, each drawn from its own random
+ * generator derived from the seed: the same seed always gives the same
+ * edges, and blocks can be generated in parallel. Edges are streamed to a
+ * handler and never stored, so that they can be written to a graph, to an
+ * edge list file, or to a CSR graph built in two passes (degrees, then
+ * rows), with no memory but the CSR arrays.
+ * <p>
+ * Edges may repeat or be self-loops; CSR graphs drop those.
+ * @author Solange U. Gasengayire
+ */
+public abstract class GraphGenerator {
+
+    /** Number of edges (approximately) generated per block */
+    static final int BLOCK_EDGES = 1 << 20;
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    final int vertices;
+    final long seed;
+
+    /**
+     * Create a new generator
+     * @param vertices the vertex count
+     * @param seed the random seed
+     */
+    GraphGenerator(int vertices, long seed) {
+        if (vertices <= 0) {
+            throw new IllegalArgumentException("Vertex count must be positive: " + vertices);
+        }
+        this.vertices = vertices;
+        this.seed = seed;
+    }
+
+    /**
+     * Return an Erdős–Rényi G(n, m) generator: m edges between
+     * vertices drawn uniformly at random
+     * @param vertices the vertex count n
+     * @param edges the edge count m
+     * @param seed the random seed
+     * @return the generator
+     */
+    public static GraphGenerator erdosRenyi(int vertices, long edges, long seed) {
+        return new ErdosRenyi(vertices, edges, seed);
+    }
+
+    /**
+     * Return a Barabási–Albert generator: each vertex attaches to d earlier
+     * vertices, chosen with a probability proportional to their degree
+     * @param vertices the vertex count
+     * @param degree the number of edges per new vertex d
+     * @param seed the random seed
+     * @return the generator
+     */
+    public static GraphGenerator barabasiAlbert(int vertices, int degree, long seed) {
+        return new BarabasiAlbert(vertices, degree, seed);
+    }
+
+    /**
+     * Return a Watts–Strogatz generator: a ring lattice where each vertex
+     * is connected to its k nearest neighbors, each edge being rewired
+     * to a random vertex with probability beta
+     * @param vertices the vertex count
+     * @param k the (even) number of nearest neighbors
+     * @param beta the rewiring probability
+     * @param seed the random seed
+     * @return the generator
+     */
+    public static GraphGenerator wattsStrogatz(int vertices, int k, double beta, long seed) {
+        return new WattsStrogatz(vertices, k, beta, seed);
+    }
+
+    /**
+     * Return a stochastic block model generator: vertices are split into
+     * communities, two vertices being connected with probability pIn when
+     * they are in the same community, and pOut otherwise
+     * @param sizes the size of each community
+     * @param pIn the probability of an edge inside a community
+     * @param pOut the probability of an edge between communities
+     * @param seed the random seed
+     * @return the generator
+     */
+    public static GraphGenerator stochasticBlockModel(int[] sizes, double pIn, double pOut, long seed) {
+        return new StochasticBlockModel(sizes, pIn, pOut, seed);
+    }
+
+    /**
+     * Return the number of vertices
+     * @return vertex count
+     */
+    public int vertexCount() {
+        return vertices;
+    }
+
+    /**
+     * Return the number of blocks the edges are split into
+     * @return block count
+     */
+    abstract int blockCount();
+
+    /**
+     * Generate the edges of a block.
+     * The edges of a block only depend on the seed and the block number.
+     * @param block the block number
+     * @param handler the edge receiver
+     */
+    abstract void generateBlock(int block, EdgeListParser.EdgeHandler handler);
+
+    /**
+     * Generate all edges, block after block
+     * @param handler the edge receiver
+     */
+    public void generate(EdgeListParser.EdgeHandler handler) {
+        for (int block = 0; block < blockCount(); block++) {
+            generateBlock(block, handler);
+        }
+    }
+
+    /**
+     * Add the generated vertices and edges to a graph
+     * @param graph the graph to load
+     */
+    public void toGraph(Graph graph) {
+        generate(GraphLoader.graphHandler(graph));
+    }
+
+    /**
+     * Write the generated edges to an edge list file, one "from to" pair per line
+     * @param path the file path
+     * @throws IOException if the file cannot be written
+     */
+    public void writeEdgeList(Path path) throws IOException {
+        try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(path), 1 << 16)) {
+            byte[] line = new byte[24];
+            IOException[] failure = new IOException[1];
+            generate((from, to) -> {
+                if (failure[0] != null) {
+                    return;
+                }
+                int length = appendInt(line, 0, from);
+                line[length++] = ' ';
+                length = appendInt(line, length, to);
+                line[length++] = '\n';
+                try {
+                    stream.write(line, 0, length);
+                } catch (IOException exception) {
+                    failure[0] = exception;
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+        }
+    }
+
+    /**
+     * Generate a CSR graph, in parallel and in two passes:
+     * the first one counts degrees, the second one fills the rows.
+     * Vertex ids are the generated vertex numbers.
+     * @return the CSR graph
+     */
+    public CsrGraph toCsr() {
+        AtomicIntegerArray degrees = new AtomicIntegerArray(vertices);
+        IntStream.range(0, blockCount()).parallel().forEach(block -> generateBlock(block, (from, to) -> {
+            degrees.incrementAndGet(from);
+            degrees.incrementAndGet(to);
+        }));
+
+        int[] offsets = new int[vertices + 1];
+        long total = 0;
+        for (int v = 0; v < vertices; v++) {
+            offsets[v] = (int) total;
+            total += degrees.get(v);
+            if (total > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Too many edges for a CSR graph: " + total);
+            }
+        }
+        offsets[vertices] = (int) total;
+
+        int[] targets = new int[(int) total];
+        AtomicIntegerArray fill = new AtomicIntegerArray(offsets);
+        IntStream.range(0, blockCount()).parallel().forEach(block -> generateBlock(block, (from, to) -> {
+            targets[fill.getAndIncrement(from)] = to;
+            targets[fill.getAndIncrement(to)] = from;
+        }));
+
+        int[] ids = new int[vertices];
+        for (int v = 0; v < vertices; v++) {
+            ids[v] = v;
+        }
+        return CsrGraph.fromAdjacency(offsets, targets, ids);
+    }
+
+    /**
+     * Return the random generator of a block
+     * @param block the block number
+     * @return a random generator only depending on the seed and the block
+     */
+    SplittableRandom random(int block) {
+        return new SplittableRandom(mix(seed + GOLDEN_GAMMA * (block + 1)));
+    }
+
+    /**
+     * SplitMix64 finalizer: a well-distributed hash of a long
+     * @param z the value to hash
+     * @return the hash
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Write the decimal digits of a value into a byte array
+     * @param bytes the destination
+     * @param position the first position to write at
+     * @param value the value
+     * @return the position after the last written digit
+     */
+    private static int appendInt(byte[] bytes, int position, int value) {
+        long number = value;
+        if (number < 0) {
+            bytes[position++] = '-';
+            number = -number;
+        }
+        int start = position;
+        do {
+            bytes[position++] = (byte) ('0' + number % 10);
+            number /= 10;
+        } while (number > 0);
+        for (int i = start, j = position - 1; i < j; i++, j--) {
+            byte digit = bytes[i];
+            bytes[i] = bytes[j];
+            bytes[j] = digit;
+        }
+        return position;
+    }
+
+    /**
+     * Erdős–Rényi G(n, m) generator
+     */
+    private static final class ErdosRenyi extends GraphGenerator {
+
+        private final long edges;
+
+        ErdosRenyi(int vertices, long edges, long seed) {
+            super(vertices, seed);
+            this.edges = edges;
+        }
+
+        @Override
+        int blockCount() {
+            return (int) ((edges + BLOCK_EDGES - 1) / BLOCK_EDGES);
+        }
+
+        @Override
+        void generateBlock(int block, EdgeListParser.EdgeHandler handler) {
+            SplittableRandom random = random(block);
+            long count = Math.min(BLOCK_EDGES, edges - (long) block * BLOCK_EDGES);
+            for (long i = 0; i < count; i++) {
+                handler.edge(random.nextInt(vertices), random.nextInt(vertices));
+            }
+        }
+    }
+
+    /**
+     * Barabási–Albert generator.
+     * In the edge list of a preferential attachment graph, the target of
+     * edge i is the vertex found at a uniformly chosen earlier position
+     * (Batagelj and Brandes). Drawing that position from a hash of i,
+     * rather than from a sequential random generator, lets any edge be
+     * resolved on its own by following earlier positions (Sanders and
+     * Schulz): blocks are independent and nothing is stored.
+     */
+    private static final class BarabasiAlbert extends GraphGenerator {
+
+        private final int degree;
+        private final long edges;
+
+        BarabasiAlbert(int vertices, int degree, long seed) {
+            super(vertices, seed);
+            if (degree <= 0) {
+                throw new IllegalArgumentException("Degree must be positive: " + degree);
+            }
+            this.degree = degree;
+            this.edges = (long) vertices * degree;
+        }
+
+        @Override
+        int blockCount() {
+            return (int) ((edges + BLOCK_EDGES - 1) / BLOCK_EDGES);
+        }
+
+        @Override
+        void generateBlock(int block, EdgeListParser.EdgeHandler handler) {
+            long first = (long) block * BLOCK_EDGES;
+            long last = Math.min(first + BLOCK_EDGES, edges);
+            for (long edge = first; edge < last; edge++) {
+                handler.edge((int) (edge / degree), resolve(2 * edge + 1));
+            }
+        }
+
+        /**
+         * Return the vertex found at a position of the edge list:
+         * even positions hold sources, odd ones copy an earlier position
+         * @param position the edge list position
+         * @return the vertex number
+         */
+        private int resolve(long position) {
+            while ((position & 1) == 1) {
+                long edge = position >>> 1;
+                // uniform position in [0, 2 * edge]
+                position = Long.remainderUnsigned(mix(seed ^ mix(edge)), 2 * edge + 1);
+            }
+            return (int) ((position >>> 1) / degree);
+        }
+    }
+
+    /**
+     * Watts–Strogatz generator
+     */
+    private static final class WattsStrogatz extends GraphGenerator {
+
+        private final int half;
+        private final double beta;
+        private final int blockVertices;
+
+        WattsStrogatz(int vertices, int k, double beta, long seed) {
+            super(vertices, seed);
+            if (k <= 0 || k % 2 != 0 || k >= vertices) {
+                throw new IllegalArgumentException("k must be even, positive and below the vertex count: " + k);
+            }
+            this.half = k / 2;
+            this.beta = beta;
+            this.blockVertices = Math.max(BLOCK_EDGES / half, 1);
+        }
+
+        @Override
+        int blockCount() {
+            return (vertices + blockVertices - 1) / blockVertices;
+        }
+
+        @Override
+        void generateBlock(int block, EdgeListParser.EdgeHandler handler) {
+            SplittableRandom random = random(block);
+            int first = block * blockVertices;
+            int last = (int) Math.min((long) first + blockVertices, vertices);
+            for (int v = first; v < last; v++) {
+                for (int j = 1; j <= half; j++) {
+                    int target = (int) (((long) v + j) % vertices);
+                    if (random.nextDouble() < beta) {
+                        target = random.nextInt(vertices);
+                    }
+                    handler.edge(v, target);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stochastic block model generator.
+     * For each vertex, the candidates of higher number are skipped over
+     * with geometrically distributed gaps, so the work is proportional to
+     * the number of generated edges rather than to the number of pairs.
+     */
+    private static final class StochasticBlockModel extends GraphGenerator {
+
+        private static final int BLOCK_VERTICES = 1 << 12;
+
+        private final int[] starts;
+        private final double pIn;
+        private final double pOut;
+
+        StochasticBlockModel(int[] sizes, double pIn, double pOut, long seed) {
+            super(total(sizes), seed);
+            this.starts = new int[sizes.length + 1];
+            for (int c = 0; c < sizes.length; c++) {
+                starts[c + 1] = starts[c] + sizes[c];
+            }
+            this.pIn = pIn;
+            this.pOut = pOut;
+        }
+
+        private static int total(int[] sizes) {
+            long total = 0;
+            for (int size : sizes) {
+                if (size < 0) {
+                    throw new IllegalArgumentException("Community sizes must be positive: " + size);
+                }
+                total += size;
+            }
+            if (total > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many vertices: " + total);
+            }
+            return (int) total;
+        }
+
+        @Override
+        int blockCount() {
+            return (vertices + BLOCK_VERTICES - 1) / BLOCK_VERTICES;
+        }
+
+        @Override
+        void generateBlock(int block, EdgeListParser.EdgeHandler handler) {
+            SplittableRandom random = random(block);
+            int first = block * BLOCK_VERTICES;
+            int last = Math.min(first + BLOCK_VERTICES, vertices);
+            int community = 0;
+            for (int v = first; v < last; v++) {
+                while (v >= starts[community + 1]) {
+                    community++;
+                }
+                for (int c = community; c < starts.length - 1; c++) {
+                    double p = c == community ? pIn : pOut;
+                    if (p <= 0) {
+                        continue;
+                    }
+                    long w = Math.max(v + 1, starts[c]) - 1L;
+                    int end = starts[c + 1];
+                    double logq = Math.log(1 - p);
+                    while (true) {
+                        w += p >= 1 ? 1 : 1 + (long) (Math.log(1 - random.nextDouble()) / logq);
+                        if (w >= end) {
+                            break;
+                        }
+                        handler.edge(v, (int) w);
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -1,12 +1,24 @@
 package util;
 
+import graph.CsrGraph;
 import graph.Graph;
+import graph.IndexedGraph;
+import graph.IntIntHashMap;
+import graph.MappedBuffer;
 
-import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashSet;
-import java.util.Scanner;
-import java.util.Set;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
 
 /**
  * Utility class to add vertices and edges to a graph
@@ -15,37 +27,20 @@ import java.util.Set;
  */
 public class GraphLoader {
 
+    // size of the byte ranges parsed in parallel
+    private static final long CHUNK_BYTES = 1L << 24;
+
     /**
      * Loads graph with data from a file.
      * The file should consist of lines with 2 integers each, corresponding
      * to a "from" vertex and a "to" vertex.
      */
     public static void loadGraph(Graph graph, String filename) {
-        Set<Integer> seen = new HashSet<>();
-        Scanner sc;
         try {
-            sc = new Scanner(new File(filename));
+            EdgeListParser.parse(Paths.get(filename), graphHandler(graph));
         } catch (Exception e) {
             e.printStackTrace();
-            return;
-        }
-        // Iterate over the lines in the file, adding new
-        // vertices as they are found and connecting them with edges.
-        while (sc.hasNextInt()) {
-            int v1 = sc.nextInt();
-            int v2 = sc.nextInt();
-            if (!seen.contains(v1)) {
-                graph.addVertex(v1);
-                seen.add(v1);
-            }
-            if (!seen.contains(v2)) {
-                graph.addVertex(v2);
-                seen.add(v2);
-            }
-            graph.addEdge(v1, v2);
         }
-
-        sc.close();
     }
 
     /**
@@ -54,31 +49,369 @@ public class GraphLoader {
      * @param stream the data stream
      */
     public static void loadGraph(Graph graph, InputStream stream) {
-        Set<Integer> seen = new HashSet<>();
-        Scanner sc;
         try {
-            sc = new Scanner(stream);
+            EdgeListParser.parse(stream, graphHandler(graph));
         } catch (Exception e) {
             e.printStackTrace();
-            return;
         }
-        // Iterate over the lines in the stream, adding new
-        // vertices as they are found and connecting them with edges.
-        while (sc.hasNextInt()) {
-            int v1 = sc.nextInt();
-            int v2 = sc.nextInt();
-            if (!seen.contains(v1)) {
-                graph.addVertex(v1);
-                seen.add(v1);
+    }
+
+    /**
+     * Loads a CSR graph straight from a file, in two passes:
+     * the first one assigns dense indices and counts degrees,
+     * the second one fills the CSR arrays in place.
+     * Connections are made symmetric, as in
+     * @see Graph#toCsr()
+     * @param path the file path
+     * @return the CSR graph
+     * @throws IOException if the file cannot be read
+     */
+    public static CsrGraph loadCsr(Path path) throws IOException {
+        IntIntHashMap index = new IntIntHashMap();
+        int[][] seen = { new int[1024] };
+        int[][] counts = { new int[1024] };
+
+        // first pass: dense indices (in order of appearance) and degrees
+        EdgeListParser.parse(path, (from, to) -> {
+            int v = denseIndex(index, seen, from);
+            int w = denseIndex(index, seen, to);
+            int[] degrees = counts[0];
+            if (degrees.length <= Math.max(v, w) + 1) {
+                degrees = Arrays.copyOf(degrees, 2 * degrees.length);
+                counts[0] = degrees;
+            }
+            degrees[v + 1]++;
+            degrees[w + 1]++;
+        });
+
+        int count = index.size();
+        int[] offsets = Arrays.copyOf(counts[0], count + 1);
+        for (int v = 0; v < count; v++) {
+            long end = (long) offsets[v] + offsets[v + 1];
+            if (end > Integer.MAX_VALUE) {
+                throw new IOException(path + " has too many edges for a CSR graph");
+            }
+            offsets[v + 1] = (int) end;
+        }
+        int[] ids = Arrays.copyOf(seen[0], count);
+
+        // second pass: fill the rows
+        int[] targets = new int[offsets[count]];
+        int[] fill = Arrays.copyOf(offsets, count);
+        EdgeListParser.parse(path, (from, to) -> {
+            int v = index.get(from);
+            int w = index.get(to);
+            targets[fill[v]++] = w;
+            targets[fill[w]++] = v;
+        });
+
+        return CsrGraph.fromAdjacency(offsets, targets, ids);
+    }
+
+    /**
+     * Loads a CSR graph from an edge list file, in parallel,
+     * using the common fork-join pool.
+     * The graph is the same as the one loaded by
+     * @see GraphLoader#loadCsr(Path)
+     * @param path the file path
+     * @return the CSR graph
+     * @throws IOException if the file cannot be read
+     */
+    public static CsrGraph loadCsrParallel(Path path) throws IOException {
+        return loadCsrParallel(path, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Loads a CSR graph from an edge list file, in parallel.
+     * The file is split into byte ranges aligned to line starts, each of which
+     * is parsed by a worker into its own edge buffer, with ids numbered in
+     * order of appearance within the range. Ranges are then numbered in file
+     * order, which gives the same dense indices as a sequential load. Degrees
+     * are counted, summed up (parallel prefix sum) and rows filled in parallel.
+     * Each line is expected to hold one edge.
+     * @param path the file path
+     * @param pool the pool parsing the ranges
+     * @return the CSR graph
+     * @throws IOException if the file cannot be read
+     */
+    public static CsrGraph loadCsrParallel(Path path, ForkJoinPool pool) throws IOException {
+        return loadCsrParallel(path, pool, CHUNK_BYTES);
+    }
+
+    /**
+     * Loads a CSR graph from an edge list file, in parallel
+     * @param path the file path
+     * @param pool the pool parsing the ranges
+     * @param chunkBytes the approximate size of the ranges
+     * @return the CSR graph
+     * @throws IOException if the file cannot be read
+     */
+    static CsrGraph loadCsrParallel(Path path, ForkJoinPool pool, long chunkBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int chunkCount = (int) Math.max(1, Math.min((size + chunkBytes - 1) / chunkBytes, Integer.MAX_VALUE));
+            long[] bounds = new long[chunkCount + 1];
+            for (int c = 1; c < chunkCount; c++) {
+                bounds[c] = Math.max(bounds[c - 1], lineStart(channel, size * c / chunkCount, size));
+            }
+            bounds[chunkCount] = size;
+
+            // parse the ranges, each with local dense indices
+            Chunk[] chunks = new Chunk[chunkCount];
+            try {
+                pool.submit(() -> IntStream.range(0, chunkCount).parallel().forEach(c -> {
+                    try {
+                        chunks[c] = new Chunk(channel, bounds[c], bounds[c + 1]);
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                })).join();
+            } catch (UncheckedIOException exception) {
+                throw exception.getCause();
+            }
+
+            // global dense indices, in file order
+            IntIntHashMap index = new IntIntHashMap();
+            int[][] seen = { new int[1024] };
+            for (Chunk chunk : chunks) {
+                chunk.global = new int[chunk.ids.length];
+                for (int i = 0; i < chunk.ids.length; i++) {
+                    chunk.global[i] = denseIndex(index, seen, chunk.ids[i]);
+                }
+            }
+            int count = index.size();
+            int[] ids = Arrays.copyOf(seen[0], count);
+
+            // degrees, then offsets
+            AtomicIntegerArray degrees = new AtomicIntegerArray(count);
+            pool.submit(() -> Arrays.stream(chunks).parallel().forEach(chunk -> {
+                for (int i = 0; i < 2 * chunk.edgeCount; i++) {
+                    degrees.incrementAndGet(chunk.global[chunk.edges[i]]);
+                }
+            })).join();
+            int[] offsets = new int[count + 1];
+            long total = 0;
+            for (int v = 0; v < count; v++) {
+                offsets[v + 1] = degrees.get(v);
+                total += offsets[v + 1];
+            }
+            if (total > Integer.MAX_VALUE) {
+                throw new IOException(path + " has too many edges for a CSR graph");
+            }
+            pool.submit(() -> Arrays.parallelPrefix(offsets, Integer::sum)).join();
+
+            // fill the rows
+            int[] targets = new int[offsets[count]];
+            AtomicIntegerArray fill = new AtomicIntegerArray(Arrays.copyOf(offsets, count));
+            pool.submit(() -> Arrays.stream(chunks).parallel().forEach(chunk -> {
+                for (int i = 0; i < 2 * chunk.edgeCount; i += 2) {
+                    int v = chunk.global[chunk.edges[i]];
+                    int w = chunk.global[chunk.edges[i + 1]];
+                    targets[fill.getAndIncrement(v)] = w;
+                    targets[fill.getAndIncrement(w)] = v;
+                }
+            })).join();
+
+            return CsrGraph.fromAdjacency(offsets, targets, ids);
+        }
+    }
+
+    /**
+     * Converts an edge list file into the binary graph format.
+     * The rows are built as in loadCsr, but in a temporary file mapped in
+     * memory, next to the binary file: the heap only holds per-vertex data,
+     * so that graphs with more edges than the heap can hold are converted.
+     * @see GraphFile
+     * @param text the edge list file path
+     * @param binary the binary file path
+     * @throws IOException if a file cannot be read or written
+     */
+    public static void convert(Path text, Path binary) throws IOException {
+        IntIntHashMap index = new IntIntHashMap();
+        int[][] seen = { new int[1024] };
+        int[][] counts = { new int[1024] };
+
+        // first pass: dense indices (in order of appearance) and degrees
+        EdgeListParser.parse(text, (from, to) -> {
+            int v = denseIndex(index, seen, from);
+            int w = denseIndex(index, seen, to);
+            int[] degrees = counts[0];
+            if (degrees.length <= Math.max(v, w)) {
+                degrees = Arrays.copyOf(degrees, 2 * degrees.length);
+                counts[0] = degrees;
             }
-            if (!seen.contains(v2)) {
-                graph.addVertex(v2);
-                seen.add(v2);
+            degrees[v]++;
+            degrees[w]++;
+        });
+
+        int count = index.size();
+        int[] ids = Arrays.copyOf(seen[0], count);
+        int[] fill = counts[0];
+        long[] offsets = new long[count + 1];
+        int maxDegree = 0;
+        for (int v = 0; v < count; v++) {
+            offsets[v + 1] = offsets[v] + fill[v];
+            maxDegree = Math.max(maxDegree, fill[v]);
+            fill[v] = 0;
+        }
+
+        Path directory = binary.toAbsolutePath().getParent();
+        Path rows = Files.createTempFile(directory, binary.getFileName().toString(), ".rows");
+        try (FileChannel channel = FileChannel.open(rows, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE)) {
+            MappedBuffer targets = MappedBuffer.map(channel, FileChannel.MapMode.READ_WRITE,
+                                                    0, Integer.BYTES * offsets[count]);
+
+            // second pass: fill the rows
+            EdgeListParser.parse(text, (from, to) -> {
+                int v = index.get(from);
+                int w = index.get(to);
+                targets.putInt(Integer.BYTES * (offsets[v] + fill[v]++), w);
+                targets.putInt(Integer.BYTES * (offsets[w] + fill[w]++), v);
+            });
+
+            // sort the rows, and drop duplicates and self-loops, as CsrGraph.fromAdjacency does
+            int[] row = new int[maxDegree];
+            long write = 0;
+            for (int v = 0; v < count; v++) {
+                int degree = (int) (offsets[v + 1] - offsets[v]);
+                for (int i = 0; i < degree; i++) {
+                    row[i] = targets.getInt(Integer.BYTES * (offsets[v] + i));
+                }
+                Arrays.sort(row, 0, degree);
+
+                offsets[v] = write;
+                int previous = -1;
+                for (int i = 0; i < degree; i++) {
+                    if (row[i] != previous && row[i] != v) {
+                        targets.putInt(Integer.BYTES * write++, row[i]);
+                    }
+                    previous = row[i];
+                }
             }
+            offsets[count] = write;
+
+            GraphFile.write(binary, ids, offsets, targets);
+        } finally {
+            Files.deleteIfExists(rows);
+        }
+    }
+
+    /**
+     * Loads a graph from an edge list file through its binary version,
+     * stored next to it with a ".bin" extension. The binary version is
+     * (re)built only when missing or older than the edge list file,
+     * so later loads are a mere memory mapping.
+     * @param text the edge list file path
+     * @return the mapped graph
+     * @throws IOException if a file cannot be read or written
+     */
+    public static IndexedGraph loadCached(Path text) throws IOException {
+        Path binary = text.resolveSibling(text.getFileName() + ".bin");
+        if (! Files.exists(binary)
+                || Files.getLastModifiedTime(binary).compareTo(Files.getLastModifiedTime(text)) < 0) {
+            convert(text, binary);
+        }
+        return GraphFile.open(binary);
+    }
+
+    /**
+     * Return an edge handler adding new vertices to a graph
+     * as they are found, and connecting them with edges
+     * @param graph the graph to load
+     * @return the edge handler
+     */
+    static EdgeListParser.EdgeHandler graphHandler(Graph graph) {
+        return (v1, v2) -> {
+            // the graph ignores the vertices it already has
+            graph.addVertex(v1);
+            graph.addVertex(v2);
             graph.addEdge(v1, v2);
+        };
+    }
+
+    /**
+     * Return the start of the first line at or after a position
+     * @param channel the file channel
+     * @param position the position
+     * @param size the file size
+     * @return the position of the first byte of that line
+     * @throws IOException if the channel cannot be read
+     */
+    private static long lineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        // a line starts at the position if the previous byte ends a line
+        long current = position - 1;
+        while (current < size) {
+            buffer.clear();
+            int read = channel.read(buffer, current);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return current + i + 1;
+                }
+            }
+            current += read;
+        }
+        return size;
+    }
+
+    /**
+     * Return the dense index of a vertex id, assigning the next one
+     * (and recording the id) if the id has not been seen yet
+     * @param index the id to dense index mapping
+     * @param seen the ids by dense index, in a holder so that it can grow
+     * @param id the vertex id
+     * @return the dense index
+     */
+    private static int denseIndex(IntIntHashMap index, int[][] seen, int id) {
+        int count = index.size();
+        int dense = index.denseIndex(id);
+        if (dense == count) {
+            if (seen[0].length == count) {
+                seen[0] = Arrays.copyOf(seen[0], 2 * count);
+            }
+            seen[0][count] = id;
         }
+        return dense;
+    }
+
+    /**
+     * Edges of a byte range, with vertex ids numbered
+     * in order of appearance within the range
+     */
+    private static final class Chunk {
+
+        // local dense index pairs, and original id of each local index
+        private int[] edges = new int[1024];
+        private int edgeCount;
+        private int[] ids;
 
-        sc.close();
+        // global dense index of each local index
+        private int[] global;
+
+        /**
+         * Parse a byte range
+         * @param channel the file channel
+         * @param start the first byte (inclusive)
+         * @param end the last byte (exclusive)
+         * @throws IOException if the channel cannot be read
+         */
+        Chunk(FileChannel channel, long start, long end) throws IOException {
+            IntIntHashMap local = new IntIntHashMap();
+            int[][] seen = { new int[1024] };
+            EdgeListParser.parse(channel, start, end, (from, to) -> {
+                if (2 * edgeCount + 2 > edges.length) {
+                    edges = Arrays.copyOf(edges, 2 * edges.length);
+                }
+                edges[2 * edgeCount] = denseIndex(local, seen, from);
+                edges[2 * edgeCount + 1] = denseIndex(local, seen, to);
+                edgeCount++;
+            });
+            ids = Arrays.copyOf(seen[0], local.size());
+        }
     }
 
 }
@@ -0,0 +1,389 @@
+package algorithm;
+
+import graph.CsrGraph;
+import graph.DynamicGraph;
+import graph.Graph;
+import graph.IndexedGraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphFile;
+import util.GraphLoader;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @see CascadeEngine class
+ * @author Solange U. Gasengayire
+ */
+class CascadeEngineTest {
+
+    private CsrGraph f2000Graph;
+
+    @BeforeEach
+    void setUp() {
+        Graph graph = new Graph("Facebook 2000 Graph");
+
+        InputStream f2000Stream = Objects.requireNonNull(getClass().getClassLoader()
+                .getResourceAsStream("data/facebook_2000.txt"));
+        GraphLoader.loadGraph(graph, f2000Stream);
+        f2000Graph = graph.toCsr();
+    }
+
+    @Test
+    @DisplayName("Round-based propagation stops at the exact fixed point")
+    void roundsReachFixedPoint() {
+        CascadeEngine engine = new CascadeEngine(f2000Graph);
+        engine.setRewardA(3);
+        engine.setRewardB(2);
+
+        for (long seed = 0; seed < 20; seed++) {
+            engine.setMode(CascadeEngine.Mode.SEQUENTIAL);
+            engine.run(new SplittableRandom(seed));
+            int sequential = engine.getSwitchedVertices();
+
+            engine.setMode(CascadeEngine.Mode.ROUNDS);
+            engine.run(new SplittableRandom(seed));
+            assertFixedPoint(engine, 3, 2);
+            assertTrue(sequential <= engine.getSwitchedVertices());
+        }
+    }
+
+    @Test
+    @DisplayName("A cascade stops at a blocking cluster of density above 1 - q")
+    void blockingCluster() {
+        CascadeEngine engine = new CascadeEngine(f2000Graph);
+        engine.setRewardA(3);
+        engine.setRewardB(2);
+        BlockingClusterDetector detector = new BlockingClusterDetector(f2000Graph);
+
+        for (long seed = 0; seed < 10; seed++) {
+            engine.setMode(CascadeEngine.Mode.ROUNDS);
+            engine.run(new SplittableRandom(seed));
+            int remaining = engine.getTotalVertices()
+                    - engine.getSeededVertices() - engine.getSwitchedVertices();
+
+            // at the fixed point, all remaining vertices form the blocking cluster
+            detector.detect(engine);
+            assertEquals(0, detector.getPeeledVertices());
+            assertEquals(remaining, detector.getSize());
+            if (remaining > 0) {
+                assertTrue(detector.getDensity() >= 1 - 2.0 / 5.0);
+            }
+
+            // a sequential run may stop early: the cluster is then smaller
+            engine.setMode(CascadeEngine.Mode.SEQUENTIAL);
+            engine.run(new SplittableRandom(seed));
+            remaining = engine.getTotalVertices()
+                    - engine.getSeededVertices() - engine.getSwitchedVertices();
+            detector.detect(engine);
+            assertEquals(remaining, detector.getSize() + detector.getPeeledVertices());
+        }
+
+        // other activation rules have no such clusters
+        double[] thresholds = new double[f2000Graph.vertexCount()];
+        Arrays.fill(thresholds, 0.5);
+        engine.setActivationRule(new VertexThresholdRule(thresholds));
+        engine.run(new SplittableRandom(0));
+        assertThrows(IllegalStateException.class, () -> detector.detect(engine));
+    }
+
+    @Test
+    @DisplayName("Rewards of negative sum compare with the threshold b / (a + b) they define")
+    void negativeRewards() {
+        CascadeEngine engine = new CascadeEngine(f2000Graph);
+        CascadeEngine expected = new CascadeEngine(f2000Graph);
+
+        // q = 1 / -2 is below 0, as is q = 0: any switched neighbor is enough
+        // q = -4 / -1 is above 1, as is q = 1: no vertex ever switches
+        int[][] rewards = {{-3, 1, 1, 0}, {3, -4, 0, 1}};
+        for (int[] pair : rewards) {
+            engine.setRewardA(pair[0]);
+            engine.setRewardB(pair[1]);
+            expected.setRewardA(pair[2]);
+            expected.setRewardB(pair[3]);
+            for (CascadeEngine.Mode mode : CascadeEngine.Mode.values()) {
+                engine.setMode(mode);
+                expected.setMode(mode);
+                engine.run(new SplittableRandom(5L));
+                expected.run(new SplittableRandom(5L));
+                assertEquals(expected.getSwitchedVertices(), engine.getSwitchedVertices());
+                for (int v = 0; v < f2000Graph.vertexCount(); v++) {
+                    assertEquals(expected.getState(v), engine.getState(v));
+                }
+            }
+        }
+        assertEquals(0, engine.getSwitchedVertices());
+    }
+
+    @Test
+    @DisplayName("Edge updates keep a round-based cascade at its fixed point")
+    void incrementalUpdates() {
+        DynamicGraph graph = new DynamicGraph(f2000Graph);
+        CascadeEngine engine = new CascadeEngine(graph);
+        engine.setMode(CascadeEngine.Mode.ROUNDS);
+        engine.setRewardA(3);
+        engine.setRewardB(2);
+        engine.run(new SplittableRandom(5L));
+        assertFixedPoint(engine, 3, 2);
+
+        SplittableRandom random = new SplittableRandom(11L);
+        int adopters = engine.getSeededVertices() + engine.getSwitchedVertices();
+        for (int i = 1; i <= 3000; i++) {
+            int u = random.nextInt(graph.vertexCount());
+            if (random.nextBoolean() && graph.degree(u) > 0) {
+                int v = graph.target(graph.edgeStart(u) + random.nextInt(graph.degree(u)));
+                assertTrue(engine.deleteEdge(u, v));
+                assertFalse(graph.hasEdge(v, u));
+            } else {
+                int v = random.nextInt(graph.vertexCount());
+                assertEquals(u != v && ! graph.hasEdge(u, v), engine.insertEdge(u, v));
+            }
+            if (i % 250 == 0) {
+                assertFixedPoint(engine, 3, 2);
+                int current = engine.getSeededVertices() + engine.getSwitchedVertices();
+                assertTrue(current >= adopters);
+                adopters = current;
+            }
+        }
+        assertThrows(UnsupportedOperationException.class,
+                     () -> new CascadeEngine(f2000Graph).insertEdge(0, 1));
+
+        // with the linear threshold rule, isolated vertices do not adopt
+        Graph pairs = new Graph("Pairs");
+        for (int v = 0; v < 4; v++) {
+            pairs.addVertex(v);
+        }
+        pairs.addEdge(0, 1);
+        pairs.addEdge(2, 3);
+        DynamicGraph pairGraph = new DynamicGraph(pairs.toCsr());
+        CascadeEngine linear = new CascadeEngine(pairGraph);
+        linear.setMode(CascadeEngine.Mode.ROUNDS);
+        linear.setActivationRule(new LinearThresholdRule(pairGraph));
+        linear.run(new int[] {0});
+        assertEquals(1, linear.getSwitchedVertices());
+        assertTrue(linear.deleteEdge(2, 3));
+        assertEquals(1, linear.getSwitchedVertices());
+        assertEquals(CascadeEngine.DEFAULT, linear.getState(2));
+        assertEquals(CascadeEngine.DEFAULT, linear.getState(3));
+    }
+
+    @Test
+    @DisplayName("Activation rules generalize the reward-based threshold")
+    void activationRules() {
+        int count = f2000Graph.vertexCount();
+        double[] halves = new double[count];
+        Arrays.fill(halves, 0.5);
+        float[] ones = new float[f2000Graph.edgeCount()];
+        Arrays.fill(ones, 1f);
+        CascadeEngine engine = new CascadeEngine(f2000Graph);
+        engine.setMode(CascadeEngine.Mode.ROUNDS);
+        LinearThresholdRule linear = new LinearThresholdRule(f2000Graph);
+
+        for (long seed = 0; seed < 10; seed++) {
+            engine.setActivationRule(null);
+            engine.run(new SplittableRandom(seed));
+            int expected = engine.getSwitchedVertices();
+
+            // same threshold for every vertex, and unit weights: the default rule
+            engine.setActivationRule(new VertexThresholdRule(halves));
+            engine.run(new SplittableRandom(seed));
+            assertEquals(expected, engine.getSwitchedVertices());
+            engine.setActivationRule(new WeightedThresholdRule(f2000Graph, ones, halves));
+            engine.run(new SplittableRandom(seed));
+            assertEquals(expected, engine.getSwitchedVertices());
+
+            // linear threshold: no remaining vertex reaches its threshold
+            engine.setActivationRule(linear);
+            engine.run(new SplittableRandom(seed));
+            for (int v = 0; v < count; v++) {
+                if (engine.getState(v) == CascadeEngine.DEFAULT) {
+                    int adopters = 0;
+                    for (int e = f2000Graph.edgeStart(v); e < f2000Graph.edgeEnd(v); e++) {
+                        if (engine.getState(f2000Graph.target(e)) != CascadeEngine.DEFAULT) {
+                            adopters++;
+                        }
+                    }
+                    assertTrue(adopters < linear.getThreshold(v) * f2000Graph.degree(v));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Edge weights drive the weighted rules")
+    void weightedRules() {
+        Graph graph = new Graph("Weighted path");
+        for (int id = 1; id <= 3; id++) {
+            graph.addVertex(id);
+        }
+        graph.addEdge(1, 2, 0.25f);
+        graph.addEdge(2, 1, 0.75f);
+        graph.addEdge(2, 3, 0.5f);
+        CsrGraph csr = graph.toCsr();
+        float[] weights = graph.edgeWeights(csr);
+        assertEquals(0.25f, weights[csr.edgeIndex(0, 1)]);
+        assertEquals(0.75f, weights[csr.edgeIndex(1, 0)]);
+        assertEquals(0.5f, weights[csr.edgeIndex(1, 2)]);
+        assertEquals(0.5f, weights[csr.edgeIndex(2, 1)]);
+        assertEquals(-1, csr.edgeIndex(0, 2));
+
+        // vertex 2 gets 0.25 of its incoming weight of 0.75 from vertex 1
+        CascadeEngine engine = new CascadeEngine(csr);
+        engine.setActivationRule(new WeightedThresholdRule(csr, weights, new double[] {0.3, 0.3, 0.3}));
+        engine.run(new int[] {0});
+        assertTrue(engine.isCompleteCascade());
+        engine.setActivationRule(new WeightedThresholdRule(csr, weights, new double[] {0.4, 0.4, 0.4}));
+        engine.run(new int[] {0});
+        assertEquals(0, engine.getSwitchedVertices());
+
+        // incoming weights of vertex 2 must not sum to more than 1
+        weights[csr.edgeIndex(2, 1)] = 0.8f;
+        assertThrows(IllegalArgumentException.class, () -> new LinearThresholdRule(csr, weights));
+        weights[csr.edgeIndex(2, 1)] = 0.5f;
+        LinearThresholdRule linear = new LinearThresholdRule(csr, weights);
+        engine.setActivationRule(linear);
+        engine.run(new int[] {0}, new SplittableRandom(5L));
+        assertEquals(linear.getThreshold(1) <= 0.25, engine.getState(1) == CascadeEngine.SWITCHED);
+        assertThrows(IllegalArgumentException.class,
+                     () -> new WeightedThresholdRule(new DynamicGraph(csr), weights, new double[3]));
+    }
+
+    @Test
+    @DisplayName("Back-to-back runs on a reused engine match runs on fresh engines")
+    void reusedEngine() {
+        CascadeEngine engine = new CascadeEngine(f2000Graph);
+        SplittableRandom random = new SplittableRandom(11L);
+
+        int[] seeds = new int[0];
+        for (int run = 0; run < 200; run++) {
+            // mostly small cascades, and a few large ones, so that both resets
+            // are used; each seed set is run with decreasing thresholds
+            int rewardB = 4 - run % 5;
+            if (rewardB == 4) {
+                seeds = new int[1 + random.nextInt(run % 3 == 0 ? 300 : 5)];
+                for (int i = 0; i < seeds.length; i++) {
+                    seeds[i] = random.nextInt(f2000Graph.vertexCount());
+                }
+            }
+            CascadeEngine fresh = new CascadeEngine(f2000Graph);
+            for (CascadeEngine current : new CascadeEngine[] {engine, fresh}) {
+                current.setMode(run % 4 < 2 ? CascadeEngine.Mode.SEQUENTIAL : CascadeEngine.Mode.ROUNDS);
+                current.setRewardA(1);
+                current.setRewardB(rewardB);
+                current.run(seeds);
+            }
+            assertEquals(fresh.getSwitchedVertices(), engine.getSwitchedVertices());
+            assertEquals(fresh.getCascadeDepth(), engine.getCascadeDepth());
+            for (int v = 0; v < f2000Graph.vertexCount(); v++) {
+                assertEquals(fresh.getState(v), engine.getState(v));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Cascades run the same on a graph mapped off the heap")
+    void mappedGraph() throws IOException {
+        Path binary = Files.createTempFile("facebook_2000", ".bin");
+        try {
+            GraphFile.write(f2000Graph, binary);
+            IndexedGraph mapped = GraphFile.open(binary);
+
+            for (CascadeEngine.Mode mode : CascadeEngine.Mode.values()) {
+                CascadeEngine expected = new CascadeEngine(f2000Graph);
+                CascadeEngine actual = new CascadeEngine(mapped);
+                for (CascadeEngine engine : new CascadeEngine[] {expected, actual}) {
+                    engine.setMode(mode);
+                    engine.setRewardA(3);
+                    engine.setRewardB(2);
+                    engine.run(new SplittableRandom(7L));
+                }
+                assertEquals(expected.getSwitchedVertices(), actual.getSwitchedVertices());
+                for (int v = 0; v < f2000Graph.vertexCount(); v++) {
+                    assertEquals(expected.getState(v), actual.getState(v));
+                }
+            }
+        } finally {
+            Files.delete(binary);
+        }
+    }
+
+    @Test
+    @DisplayName("Runs are measured, and their metrics published through JMX")
+    void metrics() throws Exception {
+        CascadeEngine engine = new CascadeEngine(f2000Graph);
+        engine.setRewardA(3);
+        engine.setRewardB(2);
+        CascadeMetricsCollector collector = new CascadeMetricsCollector();
+        engine.addMetricsListener(collector);
+        ObjectName name = collector.register("engine-test");
+
+        try {
+            long rounds = 0;
+            for (CascadeEngine.Mode mode : CascadeEngine.Mode.values()) {
+                engine.setMode(mode);
+                engine.run(new SplittableRandom(3L));
+                CascadeMetrics metrics = engine.getMetrics();
+                assertEquals(engine.getCascadeDepth(), metrics.getRounds());
+                assertEquals(engine.getSeededVertices(), metrics.getFrontierSize(0));
+                int adopters = 0;
+                for (int size : metrics.getFrontierSizes()) {
+                    adopters += size;
+                }
+                assertEquals(engine.getSeededVertices() + engine.getSwitchedVertices(), adopters);
+                assertTrue(metrics.getEdgesScanned() > 0);
+                assertTrue(metrics.getThresholdEvaluations() > 0);
+                assertTrue(metrics.getPropagateNanos() > 0);
+                rounds += metrics.getRounds();
+            }
+
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals(2L, server.getAttribute(name, "Runs"));
+            assertEquals(rounds, server.getAttribute(name, "TotalRounds"));
+            server.invoke(name, "reset", null, null);
+            assertEquals(0L, collector.getTotalEdgesScanned());
+        } finally {
+            CascadeMetricsCollector.unregister("engine-test");
+        }
+    }
+
+    /**
+     * Utility method
+     * @param engine the engine after a run
+     * @param rewardA the reward a
+     * @param rewardB the reward b
+     */
+    static void assertFixedPoint(CascadeEngine engine, int rewardA, int rewardB) {
+        IndexedGraph graph = engine.getGraph();
+        int switched = 0;
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            if (engine.getState(v) == CascadeEngine.SWITCHED) {
+                switched++;
+            }
+            if (engine.getState(v) != CascadeEngine.DEFAULT) {
+                continue;
+            }
+            int adopters = 0;
+            for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                if (engine.getState(graph.target(e)) != CascadeEngine.DEFAULT) {
+                    adopters++;
+                }
+            }
+            assertFalse(adopters * (rewardA + rewardB) > rewardB * graph.degree(v), "vertex " + v + " should have switched");
+        }
+        assertEquals(switched, engine.getSwitchedVertices());
+    }
+
+}
@@ -0,0 +1,147 @@
+package algorithm;
+
+import graph.CsrGraph;
+import graph.DynamicGraph;
+import graph.Graph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @see CascadeLog class
+ * @author Solange U. Gasengayire
+ */
+class CascadeLogTest {
+
+    private CsrGraph f2000Graph;
+
+    @BeforeEach
+    void setUp() {
+        Graph graph = new Graph("Facebook 2000 Graph");
+
+        InputStream f2000Stream = Objects.requireNonNull(getClass().getClassLoader()
+                .getResourceAsStream("data/facebook_2000.txt"));
+        GraphLoader.loadGraph(graph, f2000Stream);
+        f2000Graph = graph.toCsr();
+    }
+
+    @Test
+    @DisplayName("Recorded runs replay to the same states, in both modes")
+    void recordAndReplay() {
+        CascadeEngine engine = new CascadeEngine(f2000Graph);
+        CascadeRecorder recorder = new CascadeRecorder();
+        engine.addListener(recorder);
+        engine.setRewardA(3);
+        engine.setRewardB(2);
+
+        for (CascadeEngine.Mode mode : CascadeEngine.Mode.values()) {
+            engine.setMode(mode);
+            engine.run(new SplittableRandom(17L));
+            CascadeLog log = recorder.getLog();
+
+            assertEquals(mode == CascadeEngine.Mode.ROUNDS, log.isRoundBased());
+            assertEquals(engine.getSeededVertices(), log.getSeeds().length);
+            assertEquals(engine.getSwitchedVertices(), log.getSwitchedVertices());
+            assertEquals(engine.getCascadeDepth(), log.getRoundCount());
+            byte[] states = log.getStates(log.getRoundCount());
+            for (int v = 0; v < f2000Graph.vertexCount(); v++) {
+                assertEquals(engine.getState(v), states[v]);
+            }
+
+            // compact: a couple of bytes per event at most
+            int events = log.getSeeds().length + log.getSwitchedVertices();
+            assertTrue(log.getEncodedSize() <= 2 * events + 16);
+
+            // replaying the log records the very same log
+            CascadeRecorder replayed = new CascadeRecorder();
+            log.replay(replayed);
+            assertArrayEquals(log.toBytes(), replayed.getLog().toBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Edge updates after a sequential run keep its log sequential, in switch order")
+    void sequentialUpdates() {
+        DynamicGraph graph = new DynamicGraph(f2000Graph);
+        CascadeEngine engine = new CascadeEngine(graph);
+        CascadeRecorder recorder = new CascadeRecorder();
+        int[] order = new int[graph.vertexCount()];
+        int[] count = {0};
+        engine.addListener(recorder);
+        engine.addListener(new CascadeListener() {
+            @Override
+            public void stateReset(int vertexCount) {
+                count[0] = 0;
+            }
+
+            @Override
+            public void vertexSwitched(int vertex) {
+                order[count[0]++] = vertex;
+            }
+        });
+        engine.setRewardA(3);
+        engine.setRewardB(2);
+        engine.run(new SplittableRandom(5L));
+
+        SplittableRandom random = new SplittableRandom(13L);
+        int switched = engine.getSwitchedVertices();
+        while (engine.getSwitchedVertices() == switched) {
+            engine.insertEdge(random.nextInt(graph.vertexCount()), random.nextInt(graph.vertexCount()));
+        }
+
+        CascadeLog log = recorder.getLog();
+        assertFalse(log.isRoundBased());
+        assertEquals(engine.getSwitchedVertices(), log.getSwitchedVertices());
+        int position = 0;
+        for (int round = 1; round <= log.getRoundCount(); round++) {
+            for (int vertex : log.getRound(round)) {
+                assertEquals(order[position++], vertex);
+            }
+        }
+        assertEquals(count[0], position);
+    }
+
+    @Test
+    @DisplayName("Cascade log file round trip, and scrubbing")
+    void fileRoundTrip() throws IOException {
+        CascadeEngine engine = new CascadeEngine(f2000Graph);
+        CascadeRecorder recorder = new CascadeRecorder();
+        engine.addListener(recorder);
+        engine.setMode(CascadeEngine.Mode.ROUNDS);
+        engine.run(new SplittableRandom(3L));
+        CascadeLog log = recorder.getLog();
+
+        Path file = Files.createTempFile("cascade", ".log");
+        try {
+            log.write(file);
+            CascadeLog read = CascadeLog.read(file);
+            assertArrayEquals(log.toBytes(), read.toBytes());
+
+            for (int round = 1; round <= read.getRoundCount(); round++) {
+                byte[] before = read.getStates(round - 1);
+                byte[] after = read.getStates(round);
+                for (int vertex : read.getRound(round)) {
+                    assertEquals(CascadeEngine.DEFAULT, before[vertex]);
+                    assertEquals(CascadeEngine.SWITCHED, after[vertex]);
+                }
+            }
+
+            Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+            assertThrows(IOException.class, () -> CascadeLog.read(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}
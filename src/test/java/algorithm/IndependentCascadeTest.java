@@ -0,0 +1,68 @@
+package algorithm;
+
+import graph.CsrGraph;
+import graph.Graph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.io.InputStream;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @see IndependentCascade class
+ * @author Solange U. Gasengayire
+ */
+class IndependentCascadeTest {
+
+    @Test
+    @DisplayName("Spread estimates match the exact spread on a path")
+    void pathSpread() {
+        Graph graph = new Graph("Path");
+        for (int id = 0; id < 3; id++) {
+            graph.addVertex(id);
+        }
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        CsrGraph path = graph.toCsr();
+
+        // from one end, the spread is 1 + p + p^2
+        IndependentCascade cascade = new IndependentCascade(path, 0.3);
+        assertEquals(1.39, cascade.estimateSpread(new int[] {0}, 64 * 400, 1L), 0.02);
+        CascadeStatistics statistics = cascade.simulate(new int[] {0}, 1000, 2L);
+        assertEquals(1000, statistics.getTrials());
+        assertEquals(0.39, statistics.getMeanSwitched(), 0.08);
+        assertEquals(statistics.getMeanSwitched(), cascade.simulate(new int[] {0}, 1000, 2L).getMeanSwitched());
+
+        // edge probabilities, by direction
+        float[] probabilities = new float[path.edgeCount()];
+        probabilities[path.edgeIndex(0, 1)] = 1f;
+        probabilities[path.edgeIndex(1, 2)] = 0.5f;
+        IndependentCascade weighted = new IndependentCascade(path, probabilities);
+        assertEquals(2.5, weighted.estimateSpread(new int[] {0}, 64 * 400, 3L), 0.02);
+        assertEquals(1.0, weighted.estimateSpread(new int[] {2}, 100, 3L));
+    }
+
+    @Test
+    @DisplayName("Certain edges activate the whole connected graph")
+    void certainEdges() {
+        Graph graph = new Graph("Facebook 1000 Graph");
+        InputStream f1000Stream = Objects.requireNonNull(getClass().getClassLoader()
+                .getResourceAsStream("data/facebook_1000.txt"));
+        GraphLoader.loadGraph(graph, f1000Stream);
+        CsrGraph csr = graph.toCsr();
+
+        CascadeStatistics all = new IndependentCascade(csr, 1.0).simulate(new int[] {0}, 100, 5L);
+        assertEquals(1.0, all.getCompleteCascadeProbability());
+        assertEquals(all.getDepthPercentile(0), all.getDepthPercentile(100));
+
+        CascadeStatistics none = new IndependentCascade(csr, 0.0).simulate(new int[] {0, 1}, 100, 5L);
+        assertEquals(0.0, none.getMeanSwitched());
+        assertThrows(IllegalArgumentException.class, () -> new IndependentCascade(csr, 1.5));
+        assertThrows(IllegalArgumentException.class, () -> new IndependentCascade(csr, 0.5).simulate(new int[] {0}, 0, 5L));
+    }
+
+}
@@ -1,6 +1,9 @@
 package algorithm;
 
+import graph.CsrGraph;
 import graph.Graph;
+import gui.GraphStreamObserver;
+import gui.GraphView;
 import org.graphstream.graph.Node;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -28,16 +31,10 @@ class InformationCascadeTest {
     @BeforeEach
     void setUp() {
         exampleGraph = new Graph("Example Graph");
-        exampleGraph.setAutoCreate(true);
-        exampleGraph.setStrict(false);
 
         f1000Graph = new Graph("Facebook 1000 Graph");
-        f1000Graph.setAutoCreate(true);
-        f1000Graph.setStrict(false);
 
         ucsdGraph = new Graph("UCSD Graph");
-        ucsdGraph.setAutoCreate(true);
-        ucsdGraph.setStrict(false);
 
         algorithm = new InformationCascade();
     }
@@ -81,23 +78,41 @@ class InformationCascadeTest {
      */
     private void runSimulations(Graph graph) {
 
-        algorithm.init(graph);
+        CsrGraph csr = graph.toCsr();
+        GraphView view = new GraphView(graph.getId(), csr);
+        algorithm.init(csr);
+        algorithm.addListener(new GraphStreamObserver(view));
         algorithm.compute();
+        assertDisplayed(view, algorithm.getSeededVertices(), algorithm.getSwitchedVertices());
 
-        int seeded = 0;
-        int switched = 0;
+        // scrub back to the seeded state, then forth to the end of the run
+        algorithm.replay(0);
+        assertDisplayed(view, algorithm.getSeededVertices(), 0);
+        algorithm.replay(algorithm.getLog().getRoundCount());
+        assertDisplayed(view, algorithm.getSeededVertices(), algorithm.getSwitchedVertices());
+    }
+
+    /**
+     * Utility method
+     * @param view the displayed graph
+     * @param seeded the expected number of seeded nodes
+     * @param switched the expected number of switched nodes
+     */
+    private void assertDisplayed(GraphView view, int seeded, int switched) {
+        int seededNodes = 0;
+        int switchedNodes = 0;
 
-        for (Node node : graph.getNodeSet()) {
+        for (Node node : view.getDisplay().getNodeSet()) {
             String attr = node.getAttribute("ui.class").toString();
             if ("switched".equals(attr)) {
-                switched++;
+                switchedNodes++;
             } else if ("seeded".equals(attr)) {
-                seeded++;
+                seededNodes++;
             }
         }
 
-        assertEquals(seeded, algorithm.getSeededVertices());
-        assertEquals(switched, algorithm.getSwitchedVertices());
+        assertEquals(seeded, seededNodes);
+        assertEquals(switched, switchedNodes);
     }
 
 }
@@ -0,0 +1,63 @@
+package algorithm;
+
+import graph.CsrGraph;
+import graph.Graph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.io.InputStream;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @see MonteCarloRunner class
+ * @author Solange U. Gasengayire
+ */
+class MonteCarloRunnerTest {
+
+    private CsrGraph f1000Graph;
+
+    @BeforeEach
+    void setUp() {
+        Graph graph = new Graph("Facebook 1000 Graph");
+
+        InputStream f1000Stream = Objects.requireNonNull(getClass().getClassLoader()
+                .getResourceAsStream("data/facebook_1000.txt"));
+        GraphLoader.loadGraph(graph, f1000Stream);
+        f1000Graph = graph.toCsr();
+    }
+
+    @Test
+    @DisplayName("Batches with the same seed give the same statistics")
+    void reproducibleBatches() {
+        MonteCarloRunner runner = new MonteCarloRunner(f1000Graph);
+        CascadeStatistics first = runner.run(200, 42L);
+        CascadeStatistics second = runner.run(200, 42L);
+
+        assertEquals(200, first.getTrials());
+        assertEquals(first.getMeanSwitched(), second.getMeanSwitched());
+        assertEquals(first.getMeanDepth(), second.getMeanDepth());
+        assertEquals(first.getSwitchedPercentile(90), second.getSwitchedPercentile(90));
+        assertTrue(first.getSwitchedPercentile(10) <= first.getSwitchedPercentile(90));
+        assertThrows(IllegalArgumentException.class, () -> runner.run(0, 42L));
+    }
+
+    @Test
+    @DisplayName("A zero threshold always cascades completely on a connected graph")
+    void completeCascades() {
+        MonteCarloRunner runner = new MonteCarloRunner(f1000Graph);
+        runner.run(20, 7L);
+
+        // the idle engines of the previous batch are dropped with the setting
+        runner.setRewardB(0);
+        CascadeStatistics statistics = runner.run(50, 7L);
+
+        assertEquals(1.0, statistics.getCompleteCascadeProbability());
+        assertTrue(statistics.getMeanDepth() > 0);
+    }
+
+}
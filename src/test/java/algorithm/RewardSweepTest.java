@@ -0,0 +1,116 @@
+package algorithm;
+
+import graph.CsrGraph;
+import graph.Graph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @see RewardSweep class
+ * @author Solange U. Gasengayire
+ */
+class RewardSweepTest {
+
+    private CsrGraph f1000Graph;
+
+    @BeforeEach
+    void setUp() {
+        Graph graph = new Graph("Facebook 1000 Graph");
+
+        InputStream f1000Stream = Objects.requireNonNull(getClass().getClassLoader()
+                .getResourceAsStream("data/facebook_1000.txt"));
+        GraphLoader.loadGraph(graph, f1000Stream);
+        f1000Graph = graph.toCsr();
+    }
+
+    @Test
+    @DisplayName("Pruned cells match the cascades they stand for")
+    void prunedCells() {
+        RewardSweep sweep = new RewardSweep(f1000Graph);
+        sweep.setSeedFractions(0.05);
+        sweep.setTrials(1);
+
+        // a first sweep over a smaller grid leaves idle workers behind
+        sweep.setRewardRange(5, 5);
+        sweep.run(3L);
+        sweep.setRewardRange(20, 20);
+        SweepResult result = sweep.run(17L);
+        assertTrue(result.getRuns() < result.getCellTrials() / 4, result.toString());
+
+        // the seeds of the single trial, drawn as the sweep does
+        int count = f1000Graph.vertexCount();
+        int start = new SplittableRandom(new SplittableRandom(17L).nextLong()).nextInt(count);
+        int end = (int) Math.min(start + Math.round(0.05 * count), count);
+        int[] seeds = new int[end - start];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = start + i;
+        }
+
+        CascadeEngine engine = new CascadeEngine(f1000Graph);
+        engine.setMode(CascadeEngine.Mode.ROUNDS);
+        for (int a = 1; a <= 20; a++) {
+            for (int b = 1; b <= 20; b++) {
+                engine.setRewardA(a);
+                engine.setRewardB(b);
+                engine.run(seeds);
+                int adopters = engine.getSeededVertices() + engine.getSwitchedVertices();
+                assertEquals((float) (((double) adopters) / count), result.getMeanAdoption(0, a, b),
+                             "cell " + a + ", " + b);
+                assertEquals(engine.isCompleteCascade() ? 1f : 0f, result.getCompleteCascadeProbability(0, a, b));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Heat maps are monotonic in the threshold, and written as CSV and binary files")
+    void heatMap() throws IOException {
+        RewardSweep sweep = new RewardSweep(f1000Graph);
+        sweep.setRewardRange(12, 10);
+        sweep.setSeedFractions(0.02, 0.1);
+        sweep.setTrials(10);
+        SweepResult result = sweep.run(5L);
+
+        for (int f = 0; f < 2; f++) {
+            for (int a = 1; a <= 12; a++) {
+                for (int b = 2; b <= 10; b++) {
+                    assertTrue(result.getMeanAdoption(f, a, b) <= result.getMeanAdoption(f, a, b - 1));
+                }
+            }
+            assertEquals(result.getMeanAdoption(f, 1, 1), result.getMeanAdoption(f, 6, 6));
+        }
+
+        Path csv = Files.createTempFile("sweep", ".csv");
+        Path binary = Files.createTempFile("sweep", ".bin");
+        try {
+            result.writeCsv(csv);
+            List<String> lines = Files.readAllLines(csv);
+            assertEquals(1 + 2 * 12 * 10, lines.size());
+            assertTrue(lines.get(1).startsWith("0.02,1,1,0.500000,"));
+
+            result.write(binary);
+            SweepResult copy = SweepResult.read(binary);
+            assertArrayEquals(result.getSeedFractions(), copy.getSeedFractions());
+            assertEquals(12, copy.getMaxRewardA());
+            assertEquals(result.getMeanAdoption(1, 12, 10), copy.getMeanAdoption(1, 12, 10));
+            assertEquals(result.getCompleteCascadeProbability(0, 3, 7), copy.getCompleteCascadeProbability(0, 3, 7));
+            assertThrows(IOException.class, () -> SweepResult.read(csv));
+        } finally {
+            Files.delete(csv);
+            Files.delete(binary);
+        }
+    }
+
+}
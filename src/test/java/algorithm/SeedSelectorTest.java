@@ -0,0 +1,83 @@
+package algorithm;
+
+import graph.CsrGraph;
+import graph.Graph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.io.InputStream;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @see SeedSelector class
+ * @author Solange U. Gasengayire
+ */
+class SeedSelectorTest {
+
+    private CsrGraph f1000Graph;
+    private SeedSelector selector;
+
+    @BeforeEach
+    void setUp() {
+        Graph graph = new Graph("Facebook 1000 Graph");
+
+        InputStream f1000Stream = Objects.requireNonNull(getClass().getClassLoader()
+                .getResourceAsStream("data/facebook_1000.txt"));
+        GraphLoader.loadGraph(graph, f1000Stream);
+        f1000Graph = graph.toCsr();
+
+        selector = new SeedSelector(f1000Graph);
+        selector.setRewardA(3);
+        selector.setRewardB(1);
+    }
+
+    @Test
+    @DisplayName("Degree and PageRank rankings are sorted")
+    void rankings() {
+        int[] seeds = selector.byDegree(20);
+        assertEquals(20, seeds.length);
+        for (int i = 1; i < seeds.length; i++) {
+            assertTrue(f1000Graph.degree(seeds[i - 1]) >= f1000Graph.degree(seeds[i]));
+        }
+
+        double[] rank = selector.pageRank();
+        double sum = 0;
+        for (double value : rank) {
+            sum += value;
+        }
+        assertEquals(1.0, sum, 1e-6);
+        seeds = selector.byPageRank(20);
+        for (int i = 1; i < seeds.length; i++) {
+            assertTrue(rank[seeds[i - 1]] >= rank[seeds[i]]);
+        }
+    }
+
+    @Test
+    @DisplayName("CELF seeds cascade at least as far as the best single seed")
+    void celfSelection() {
+        selector.setCandidatePoolSize(100);
+        int[] seeds = selector.byCelf(5);
+        assertEquals(5, seeds.length);
+
+        // the engines of the first selection are reused, to the same effect
+        assertArrayEquals(seeds, selector.byCelf(5));
+
+        CascadeEngine engine = new CascadeEngine(f1000Graph);
+        engine.setMode(CascadeEngine.Mode.ROUNDS);
+        engine.setRewardA(3);
+        engine.setRewardB(1);
+        engine.run(seeds);
+        int celf = engine.getSeededVertices() + engine.getSwitchedVertices();
+
+        for (int vertex : selector.byDegree(100)) {
+            engine.run(new int[] {vertex});
+            assertTrue(celf >= engine.getSeededVertices() + engine.getSwitchedVertices());
+        }
+    }
+
+}
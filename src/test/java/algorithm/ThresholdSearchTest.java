@@ -0,0 +1,67 @@
+package algorithm;
+
+import graph.CsrGraph;
+import graph.Graph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @see ThresholdSearch class
+ * @author Solange U. Gasengayire
+ */
+class ThresholdSearchTest {
+
+    private CsrGraph f1000Graph;
+
+    @BeforeEach
+    void setUp() {
+        Graph graph = new Graph("Facebook 1000 Graph");
+
+        InputStream f1000Stream = Objects.requireNonNull(getClass().getClassLoader()
+                .getResourceAsStream("data/facebook_1000.txt"));
+        GraphLoader.loadGraph(graph, f1000Stream);
+        f1000Graph = graph.toCsr();
+    }
+
+    @Test
+    @DisplayName("The critical threshold separates complete and incomplete cascades")
+    void criticalThreshold() {
+        ThresholdSearch search = new ThresholdSearch(f1000Graph);
+        CascadeEngine engine = new CascadeEngine(f1000Graph);
+        engine.setMode(CascadeEngine.Mode.ROUNDS);
+        SplittableRandom random = new SplittableRandom(1);
+
+        for (int trial = 0; trial < 10; trial++) {
+            int[] seeds = random.ints(50, 0, f1000Graph.vertexCount()).toArray();
+            search.search(seeds);
+            int bottleneck = search.getBottleneckVertex();
+            assertTrue(bottleneck >= 0);
+
+            // q = k / d, the critical threshold itself: the cascade stops
+            int degree = f1000Graph.degree(bottleneck);
+            int adopters = (int) Math.round(search.getCriticalThreshold() * degree);
+            engine.setRewardA(degree - adopters);
+            engine.setRewardB(adopters);
+            engine.run(seeds);
+            assertFalse(engine.isCompleteCascade());
+            assertFalse(search.isCompleteCascade(degree - adopters, adopters));
+
+            // q = 2k / (2d + 1), right below it: the cascade is complete
+            engine.setRewardA(2 * (degree - adopters) + 1);
+            engine.setRewardB(2 * adopters);
+            engine.run(seeds);
+            assertTrue(engine.isCompleteCascade());
+            assertTrue(search.isCompleteCascade(2 * (degree - adopters) + 1, 2 * adopters));
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package graph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.EdgeListParser;
+import util.GraphLoader;
+
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @see CsrGraph class
+ * @author Solange U. Gasengayire
+ */
+class CsrGraphTest {
+
+    private Graph f1000Graph;
+
+    @BeforeEach
+    void setUp() {
+        f1000Graph = new Graph("Facebook 1000 Graph");
+
+        InputStream f1000Stream = Objects.requireNonNull(getClass().getClassLoader()
+                .getResourceAsStream("data/facebook_1000.txt"));
+        GraphLoader.loadGraph(f1000Graph, f1000Stream);
+    }
+
+    @Test
+    @DisplayName("CSR snapshot has the same adjacency as the loaded graph")
+    void snapshotMatchesGraph() throws Exception {
+        CsrGraph csr = f1000Graph.toCsr();
+        assertEquals(f1000Graph.getVertexCount(), csr.vertexCount());
+
+        // connections of the data file, in both directions
+        Set<Long> connections = new HashSet<>();
+        InputStream f1000Stream = Objects.requireNonNull(getClass().getClassLoader()
+                .getResourceAsStream("data/facebook_1000.txt"));
+        EdgeListParser.parse(f1000Stream, (from, to) -> {
+            if (from != to) {
+                connections.add(((long) from << 32) | (to & 0xffffffffL));
+                connections.add(((long) to << 32) | (from & 0xffffffffL));
+            }
+        });
+        assertEquals(connections.size(), csr.edgeCount());
+
+        for (int v = 0; v < csr.vertexCount(); v++) {
+            assertEquals(v, csr.indexOf(csr.originalId(v)));
+            for (int e = csr.edgeStart(v); e < csr.edgeEnd(v); e++) {
+                long connection = ((long) csr.originalId(v) << 32)
+                        | (csr.originalId(csr.target(e)) & 0xffffffffL);
+                assertTrue(connections.contains(connection));
+            }
+        }
+        assertEquals(-1, csr.indexOf(-42));
+        assertTrue(csr.bytesPerEdge() > 0);
+    }
+
+    @Test
+    @DisplayName("Raw adjacency rows are sorted and compacted")
+    void adjacencyIsNormalized() {
+        int[] offsets = {0, 4, 5, 6};
+        int[] targets = {2, 1, 2, 0, 0, 0};
+        CsrGraph csr = CsrGraph.fromAdjacency(offsets, targets, new int[] {7, 8, 9});
+
+        assertEquals(4, csr.edgeCount());
+        assertEquals(2, csr.degree(0));
+        assertEquals(1, csr.target(csr.edgeStart(0)));
+        assertEquals(2, csr.target(csr.edgeStart(0) + 1));
+        assertEquals(1, csr.degree(1));
+        assertEquals(1, csr.degree(2));
+        assertEquals(2, csr.indexOf(9));
+    }
+
+}
@@ -0,0 +1,78 @@
+package graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @see DynamicGraph class
+ * @author Solange U. Gasengayire
+ */
+class DynamicGraphTest {
+
+    @Test
+    @DisplayName("Rows follow edge insertions and deletions")
+    void insertAndDelete() {
+        Graph f1000Graph = new Graph("Facebook 1000 Graph");
+        InputStream f1000Stream = Objects.requireNonNull(getClass().getClassLoader()
+                .getResourceAsStream("data/facebook_1000.txt"));
+        GraphLoader.loadGraph(f1000Graph, f1000Stream);
+        CsrGraph csr = f1000Graph.toCsr();
+        DynamicGraph graph = new DynamicGraph(csr);
+
+        // expected connections, in both directions
+        Set<Long> connections = new HashSet<>();
+        for (int v = 0; v < csr.vertexCount(); v++) {
+            for (int e = csr.edgeStart(v); e < csr.edgeEnd(v); e++) {
+                connections.add(key(v, csr.target(e)));
+            }
+        }
+
+        SplittableRandom random = new SplittableRandom(1L);
+        for (int i = 0; i < 20_000; i++) {
+            // favor a few vertices, so that their rows move
+            int u = random.nextInt(10) == 0 ? random.nextInt(5) : random.nextInt(csr.vertexCount());
+            int v = random.nextInt(csr.vertexCount());
+            if (random.nextInt(3) == 0) {
+                boolean present = connections.remove(key(u, v));
+                connections.remove(key(v, u));
+                assertEquals(present, graph.deleteEdge(u, v));
+            } else {
+                boolean added = u != v && connections.add(key(u, v));
+                if (added) {
+                    connections.add(key(v, u));
+                }
+                assertEquals(added, graph.insertEdge(u, v));
+            }
+        }
+
+        assertEquals(connections.size(), graph.edgeCount());
+        int arcs = 0;
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            assertEquals(csr.originalId(v), graph.originalId(v));
+            for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                assertTrue(connections.contains(key(v, graph.target(e))));
+                arcs++;
+            }
+        }
+        assertEquals(connections.size(), arcs);
+    }
+
+    /**
+     * Utility method
+     * @return the key of a directed connection
+     */
+    private static long key(int from, int to) {
+        return ((long) from << 32) | to;
+    }
+
+}
@@ -0,0 +1,50 @@
+package graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @see IntIntHashMap class
+ * @author Solange U. Gasengayire
+ */
+class IntIntHashMapTest {
+
+    @Test
+    @DisplayName("Dense indices follow the order of first appearance")
+    void denseIndices() {
+        IntIntHashMap map = new IntIntHashMap(4);
+        Map<Integer, Integer> expected = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(9L);
+
+        for (int i = 0; i < 100_000; i++) {
+            // negative, zero and colliding keys included
+            int key = random.nextInt(3) == 0 ? random.nextInt() : random.nextInt(-1000, 50_000);
+            Integer dense = expected.get(key);
+            if (dense == null) {
+                dense = expected.size();
+                expected.put(key, dense);
+            }
+            assertEquals((int) dense, map.denseIndex(key));
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals((int) entry.getValue(), map.get(entry.getKey()));
+        }
+        assertEquals(IntIntHashMap.MISSING, map.get(Integer.MIN_VALUE + 7));
+        assertFalse(map.containsKey(Integer.MIN_VALUE + 7));
+
+        int previous = expected.containsKey(0) ? expected.get(0) : IntIntHashMap.MISSING;
+        assertEquals(previous, map.put(0, 42));
+        assertEquals(42, map.get(0));
+        assertThrows(IllegalArgumentException.class, () -> map.put(1, -1));
+    }
+
+}
@@ -0,0 +1,92 @@
+package graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphFile;
+import util.GraphLoader;
+
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @see MappedBuffer class
+ * @author Solange U. Gasengayire
+ */
+class MappedBufferTest {
+
+    @Test
+    @DisplayName("Values are read back across segments")
+    void segments() throws Exception {
+        Path file = Files.createTempFile("segments", ".bin");
+        try {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedBuffer buffer = MappedBuffer.map(channel, FileChannel.MapMode.READ_WRITE, 0, 1000, 4);
+                assertEquals(1000, buffer.size());
+                for (long position = 0; position < 800; position += Long.BYTES) {
+                    buffer.putLong(position, position * 0x1_0000_0001L);
+                }
+                for (long position = 800; position < 1000; position += Integer.BYTES) {
+                    buffer.putInt(position, (int) -position);
+                }
+            }
+            assertEquals(1000, Files.size(file));
+
+            // mapped again, with other segments
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedBuffer buffer = MappedBuffer.map(channel, FileChannel.MapMode.READ_ONLY, 0, 1000, 6);
+                for (long position = 0; position < 800; position += Long.BYTES) {
+                    assertEquals(position * 0x1_0000_0001L, buffer.getLong(position));
+                    assertEquals((int) position, buffer.getInt(position));
+                }
+                for (long position = 800; position < 1000; position += Integer.BYTES) {
+                    assertEquals((int) -position, buffer.getInt(position));
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Mapped graphs split into small segments match the CSR snapshot")
+    void segmentedGraph() throws Exception {
+        Graph graph = new Graph("Facebook 1000 Graph");
+        InputStream f1000Stream = Objects.requireNonNull(getClass().getClassLoader()
+                .getResourceAsStream("data/facebook_1000.txt"));
+        GraphLoader.loadGraph(graph, f1000Stream);
+        CsrGraph expected = graph.toCsr();
+
+        Path file = Files.createTempFile("facebook_1000", ".bin");
+        try {
+            GraphFile.write(expected, file);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedBuffer buffer = MappedBuffer.map(channel, FileChannel.MapMode.READ_ONLY, 0, channel.size(), 12);
+                MappedCsrGraph mapped = new MappedCsrGraph(buffer, 24, buffer.getInt(8), (int) buffer.getLong(16));
+
+                assertEquals(expected.vertexCount(), mapped.vertexCount());
+                assertEquals(expected.edgeCount(), mapped.edgeCount());
+                for (int v = 0; v < expected.vertexCount(); v++) {
+                    assertEquals(expected.originalId(v), mapped.originalId(v));
+                    assertEquals(v, mapped.indexOf(expected.originalId(v)));
+                    assertEquals(expected.edgeStart(v), mapped.edgeStart(v));
+                    assertEquals(expected.edgeEnd(v), mapped.edgeEnd(v));
+                    for (int e = expected.edgeStart(v); e < expected.edgeEnd(v); e++) {
+                        assertEquals(expected.target(e), mapped.target(e));
+                    }
+                }
+                assertThrows(IllegalArgumentException.class,
+                             () -> new MappedCsrGraph(buffer, 32, expected.vertexCount(), expected.edgeCount()));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+package graph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @see VertexOrder class
+ * @author Solange U. Gasengayire
+ */
+class VertexOrderTest {
+
+    private Graph f1000Graph;
+
+    @BeforeEach
+    void setUp() {
+        f1000Graph = new Graph("Facebook 1000 Graph");
+
+        InputStream f1000Stream = Objects.requireNonNull(getClass().getClassLoader()
+                .getResourceAsStream("data/facebook_1000.txt"));
+        GraphLoader.loadGraph(f1000Graph, f1000Stream);
+    }
+
+    @Test
+    @DisplayName("Every order relabels the vertices and keeps the edges between original ids")
+    void relabeling() {
+        CsrGraph csr = f1000Graph.toCsr();
+        Set<Long> connections = connections(csr);
+
+        for (VertexOrder order : VertexOrder.values()) {
+            int[] permutation = order.order(csr);
+            boolean[] seen = new boolean[csr.vertexCount()];
+            for (int v : permutation) {
+                assertFalse(seen[v], order + " places " + v + " twice");
+                seen[v] = true;
+            }
+
+            CsrGraph relabeled = f1000Graph.toCsr(order);
+            assertEquals(csr.vertexCount(), relabeled.vertexCount());
+            assertEquals(csr.edgeCount(), relabeled.edgeCount());
+            assertEquals(connections, connections(relabeled), order.toString());
+            for (int k = 0; k < relabeled.vertexCount(); k++) {
+                assertEquals(csr.originalId(permutation[k]), relabeled.originalId(k));
+                assertEquals(k, relabeled.indexOf(relabeled.originalId(k)));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> csr.permute(new int[csr.vertexCount()]));
+    }
+
+    @Test
+    @DisplayName("Degree order sorts hubs first, and Cuthill-McKee narrows the band")
+    void locality() {
+        CsrGraph csr = f1000Graph.toCsr();
+
+        CsrGraph byDegree = VertexOrder.DEGREE.apply(csr);
+        for (int v = 1; v < byDegree.vertexCount(); v++) {
+            assertTrue(byDegree.degree(v) <= byDegree.degree(v - 1));
+        }
+
+        assertTrue(bandwidth(VertexOrder.REVERSE_CUTHILL_MCKEE.apply(csr)) < bandwidth(csr));
+        assertSame(csr, VertexOrder.FILE.apply(csr));
+    }
+
+    /**
+     * Utility method
+     * @return the edges of a graph, as pairs of original ids
+     */
+    private static Set<Long> connections(CsrGraph graph) {
+        Set<Long> connections = new HashSet<>();
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                connections.add(((long) graph.originalId(v) << 32)
+                                | (graph.originalId(graph.target(e)) & 0xffffffffL));
+            }
+        }
+        return connections;
+    }
+
+    /**
+     * Utility method
+     * @return the largest index distance between two neighbors
+     */
+    private static int bandwidth(CsrGraph graph) {
+        int bandwidth = 0;
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                bandwidth = Math.max(bandwidth, Math.abs(graph.target(e) - v));
+            }
+        }
+        return bandwidth;
+    }
+
+}
@@ -0,0 +1,99 @@
+package gui;
+
+import algorithm.CascadeEngine;
+import graph.CsrGraph;
+import graph.Graph;
+import org.graphstream.graph.Node;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @see GraphViewPump class
+ * @author Solange U. Gasengayire
+ */
+class GraphViewPumpTest {
+
+    @Test
+    @DisplayName("Batched updates leave the display in the final cascade state")
+    void displayFinalState() {
+        Graph graph = new Graph("Facebook 2000 Graph");
+        InputStream stream = Objects.requireNonNull(getClass().getClassLoader()
+                .getResourceAsStream("data/facebook_2000.txt"));
+        GraphLoader.loadGraph(graph, stream);
+        CsrGraph csr = graph.toCsr();
+        GraphView view = new GraphView(graph.getId(), csr);
+
+        // a tiny queue, so that batches get merged while the pump is behind
+        CascadeDeltaPublisher publisher = new CascadeDeltaPublisher(2);
+        GraphViewPump pump = new GraphViewPump(view, publisher, 50);
+        CascadeEngine engine = new CascadeEngine(csr);
+        engine.addListener(publisher);
+        engine.setMode(CascadeEngine.Mode.ROUNDS);
+        engine.setRewardA(3);
+        engine.setRewardB(2);
+
+        pump.start(200);
+        for (long seed = 0; seed < 3; seed++) {
+            engine.run(new SplittableRandom(seed));
+        }
+        pump.stop();
+        while (pump.pump() > 0) {
+            // drain what is left
+        }
+        assertDisplayed(view, engine);
+    }
+
+    @Test
+    @DisplayName("Runs never wait for a full queue that nothing drains")
+    void neverBlock() {
+        Graph graph = new Graph("Facebook 2000 Graph");
+        InputStream stream = Objects.requireNonNull(getClass().getClassLoader()
+                .getResourceAsStream("data/facebook_2000.txt"));
+        GraphLoader.loadGraph(graph, stream);
+        CsrGraph csr = graph.toCsr();
+        GraphView view = new GraphView(graph.getId(), csr);
+
+        CascadeDeltaPublisher publisher = new CascadeDeltaPublisher(1);
+        GraphViewPump pump = new GraphViewPump(view, publisher, 50);
+        CascadeEngine engine = new CascadeEngine(csr);
+        engine.addListener(publisher);
+        engine.setRewardA(3);
+        engine.setRewardB(2);
+
+        // no pump is running: the runs fill the queue, then set batches aside
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            for (long seed = 0; seed < 3; seed++) {
+                engine.setMode(seed % 2 == 0 ? CascadeEngine.Mode.SEQUENTIAL : CascadeEngine.Mode.ROUNDS);
+                engine.run(new SplittableRandom(seed));
+            }
+        });
+        while (pump.pump() > 0) {
+            // drain what is left
+        }
+        assertDisplayed(view, engine);
+    }
+
+    /**
+     * Utility method
+     * @param view the displayed graph
+     * @param engine the engine whose final state is expected on display
+     */
+    private static void assertDisplayed(GraphView view, CascadeEngine engine) {
+        for (int v = 0; v < engine.getGraph().vertexCount(); v++) {
+            Node node = view.getNode(v);
+            String expected = engine.getState(v) == CascadeEngine.SEEDED ? "seeded"
+                    : engine.getState(v) == CascadeEngine.SWITCHED ? "switched" : "default";
+            assertEquals(expected, node.getAttribute("ui.class").toString());
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+package gui;
+
+import graph.CsrGraph;
+import graph.Graph;
+import org.graphstream.graph.Node;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.io.InputStream;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @see GraphView class
+ * @author Solange U. Gasengayire
+ */
+class GraphViewTest {
+
+    @Test
+    @DisplayName("A full view displays every vertex and connection")
+    void fullView() {
+        CsrGraph csr = load();
+        GraphView view = new GraphView("Facebook 1000 Graph", csr);
+
+        assertEquals(csr.vertexCount(), view.getDisplay().getNodeCount());
+        assertEquals(csr.edgeCount() / 2, view.getDisplay().getEdgeCount());
+        for (int v = 0; v < csr.vertexCount(); v++) {
+            Node node = view.getNode(v);
+            assertEquals(String.valueOf(csr.originalId(v)), node.getId());
+            assertEquals(csr.degree(v), node.getDegree());
+        }
+    }
+
+    @Test
+    @DisplayName("A sampled view displays a bounded, connected subgraph")
+    void sampledView() {
+        CsrGraph csr = load();
+        GraphView view = new GraphView("Facebook 1000 Graph", csr, 100);
+
+        assertEquals(100, view.getDisplayedVertices());
+        assertEquals(100, view.getDisplay().getNodeCount());
+        int displayed = 0;
+        for (int v = 0; v < csr.vertexCount(); v++) {
+            Node node = view.getNode(v);
+            if (node != null) {
+                displayed++;
+                assertTrue(node.getDegree() <= csr.degree(v));
+            }
+        }
+        assertEquals(100, displayed);
+        assertTrue(view.getDisplay().getEdgeCount() >= 99);
+    }
+
+    /**
+     * Utility method
+     * @return the Facebook 1000 graph snapshot
+     */
+    private CsrGraph load() {
+        Graph graph = new Graph("Facebook 1000 Graph");
+        InputStream stream = Objects.requireNonNull(getClass().getClassLoader()
+                .getResourceAsStream("data/facebook_1000.txt"));
+        GraphLoader.loadGraph(graph, stream);
+        return graph.toCsr();
+    }
+
+}
@@ -0,0 +1,88 @@
+package util;
+
+import graph.CsrGraph;
+import graph.IndexedGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @see GraphGenerator class
+ * @author Solange U. Gasengayire
+ */
+class GraphGeneratorTest {
+
+    @Test
+    @DisplayName("Same seed, same graph, for every model")
+    void generateDeterministically() {
+        GraphGenerator[] generators = generators(7L);
+        GraphGenerator[] again = generators(7L);
+        for (int i = 0; i < generators.length; i++) {
+            CsrGraph graph = generators[i].toCsr();
+            assertTrue(graph.edgeCount() > 0);
+            GraphLoaderTest.assertSameGraph(graph, again[i].toCsr());
+        }
+
+        CsrGraph first = generators(7L)[0].toCsr();
+        CsrGraph second = generators(8L)[0].toCsr();
+        boolean different = false;
+        for (int v = 0; v < first.vertexCount() && ! different; v++) {
+            different = first.degree(v) != second.degree(v);
+        }
+        assertTrue(different);
+    }
+
+    @Test
+    @DisplayName("Edge list files hold the same graph as the parallel CSR build")
+    void writeEdgeList() throws Exception {
+        for (GraphGenerator generator : generators(11L)) {
+            Path file = Files.createTempFile("generated", ".txt");
+            try {
+                generator.writeEdgeList(file);
+                IndexedGraph loaded = GraphLoader.loadCsr(file);
+                CsrGraph built = generator.toCsr();
+
+                assertEquals(built.edgeCount(), loaded.edgeCount());
+                for (int v = 0; v < built.vertexCount(); v++) {
+                    int index = loaded.indexOf(built.originalId(v));
+                    assertEquals(built.degree(v), index < 0 ? 0 : loaded.degree(index));
+                }
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Preferential attachment favors early vertices")
+    void preferentialAttachment() {
+        CsrGraph graph = GraphGenerator.barabasiAlbert(20_000, 3, 5L).toCsr();
+        int early = 0;
+        int late = 0;
+        for (int v = 0; v < 100; v++) {
+            early += graph.degree(v);
+            late += graph.degree(graph.vertexCount() - 1 - v);
+        }
+        assertTrue(early > 5 * late);
+    }
+
+    /**
+     * Utility method
+     * @param seed the random seed
+     * @return a small generator of each model
+     */
+    private static GraphGenerator[] generators(long seed) {
+        return new GraphGenerator[] {
+                GraphGenerator.erdosRenyi(1000, 5000, seed),
+                GraphGenerator.barabasiAlbert(1000, 4, seed),
+                GraphGenerator.wattsStrogatz(1000, 6, 0.1, seed),
+                GraphGenerator.stochasticBlockModel(new int[] {300, 300, 400}, 0.05, 0.002, seed)
+        };
+    }
+
+}
@@ -0,0 +1,215 @@
+package util;
+
+import graph.CsrGraph;
+import graph.Graph;
+import graph.IndexedGraph;
+import graph.MappedCsrGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @see GraphLoader class
+ * @author Solange U. Gasengayire
+ */
+class GraphLoaderTest {
+
+    @Test
+    @DisplayName("Parse edges with comments, signs and no trailing newline")
+    void parseEdgeList() throws Exception {
+        String text = "# Directed graph\n# FromNodeId\tToNodeId\n1 2\r\n3\t-4\n\n 5   6";
+        List<int[]> edges = new ArrayList<>();
+        long count = EdgeListParser.parse(
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)),
+                (from, to) -> edges.add(new int[] {from, to}));
+
+        assertEquals(3, count);
+        assertArrayEquals(new int[] {1, 2}, edges.get(0));
+        assertArrayEquals(new int[] {3, -4}, edges.get(1));
+        assertArrayEquals(new int[] {5, 6}, edges.get(2));
+    }
+
+    @Test
+    @DisplayName("Reject vertex ids out of the int range")
+    void parseOutOfRange() throws Exception {
+        String bounds = "2147483647 -2147483648\n";
+        List<int[]> edges = new ArrayList<>();
+        EdgeListParser.parse(new ByteArrayInputStream(bounds.getBytes(StandardCharsets.US_ASCII)),
+                             (from, to) -> edges.add(new int[] {from, to}));
+        assertArrayEquals(new int[] {Integer.MAX_VALUE, Integer.MIN_VALUE}, edges.get(0));
+
+        for (String text : new String[] {"1 2147483648\n", "-2147483649 1", "1 2\n99999999999999999999 3\n"}) {
+            assertThrows(IOException.class, () -> EdgeListParser.parse(
+                    new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)), (from, to) -> { }), text);
+        }
+    }
+
+    @Test
+    @DisplayName("Two-pass CSR loading matches the graph snapshot")
+    void loadCsrFromFile() throws Exception {
+        Graph graph = new Graph("Facebook 2000 Graph");
+        InputStream stream = Objects.requireNonNull(getClass().getClassLoader()
+                .getResourceAsStream("data/facebook_2000.txt"));
+        GraphLoader.loadGraph(graph, stream);
+        CsrGraph expected = graph.toCsr();
+
+        CsrGraph csr = GraphLoader.loadCsr(resource("data/facebook_2000.txt"));
+        assertSameGraph(expected, csr);
+    }
+
+    @Test
+    @DisplayName("Parallel chunked loading matches the sequential loader")
+    void loadCsrInParallel() throws Exception {
+        Path text = resource("data/facebook_2000.txt");
+        CsrGraph expected = GraphLoader.loadCsr(text);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (long chunkBytes : new long[] {1, 37, 4096, 1 << 30}) {
+                assertSameGraph(expected, GraphLoader.loadCsrParallel(text, pool, chunkBytes));
+            }
+
+            Path commented = Files.createTempFile("commented", ".txt");
+            try {
+                Files.write(commented, "# comment\n1 2\n\n# 3 4\n2 3\r\n-5 1\n3 1".getBytes(StandardCharsets.US_ASCII));
+                for (long chunkBytes : new long[] {1, 5, 1 << 30}) {
+                    assertSameGraph(GraphLoader.loadCsr(commented),
+                                    GraphLoader.loadCsrParallel(commented, pool, chunkBytes));
+                }
+            } finally {
+                Files.deleteIfExists(commented);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Binary graph file round trip")
+    void binaryRoundTrip() throws Exception {
+        CsrGraph expected = GraphLoader.loadCsr(resource("data/facebook_1000.txt"));
+        Path binary = Files.createTempFile("facebook_1000", ".bin");
+        try {
+            GraphFile.write(expected, binary);
+            IndexedGraph mapped = GraphFile.open(binary);
+            assertSameGraph(expected, mapped);
+            for (int v = 0; v < expected.vertexCount(); v++) {
+                assertEquals(v, mapped.indexOf(expected.originalId(v)));
+            }
+            assertEquals(-1, mapped.indexOf(Integer.MAX_VALUE));
+        } finally {
+            Files.delete(binary);
+        }
+    }
+
+    @Test
+    @DisplayName("Edge lists are converted off the heap, into the same graph")
+    void convertOffHeap() throws Exception {
+        Path text = resource("data/facebook_2000.txt");
+        Path binary = Files.createTempFile("facebook_2000", ".bin");
+        Path commented = Files.createTempFile("commented", ".txt");
+        try {
+            GraphLoader.convert(text, binary);
+            assertSameGraph(GraphLoader.loadCsr(text), GraphFile.open(binary));
+
+            // duplicates and self-loops are dropped, isolated self-loops are kept as vertices
+            Files.write(commented, "# comment\n1 2\n2 1\n7 7\n2 3\r\n-5 1\n3 1\n1 2".getBytes(StandardCharsets.US_ASCII));
+            GraphLoader.convert(commented, binary);
+            IndexedGraph mapped = GraphFile.open(binary);
+            assertSameGraph(GraphLoader.loadCsr(commented), mapped);
+            assertEquals(0, mapped.degree(mapped.indexOf(7)));
+            assertEquals(GraphFile.VERSION, Files.readAllBytes(binary)[4]);
+        } finally {
+            Files.delete(binary);
+            Files.delete(commented);
+        }
+    }
+
+    @Test
+    @DisplayName("Graph files may hold more edges than an int can count")
+    void longEdgePositions() throws Exception {
+        // vertex 0 has Integer.MAX_VALUE neighbors, left as a hole of the (sparse) file
+        long edges = Integer.MAX_VALUE + 2L;
+        Path binary = Files.createTempFile("long_rows", ".bin");
+        try {
+            try (FileChannel channel = FileChannel.open(binary, StandardOpenOption.WRITE)) {
+                ByteBuffer head = ByteBuffer.allocate(24 + 3 * 8 + 4 * 3 * 2).order(ByteOrder.LITTLE_ENDIAN);
+                head.putInt(GraphFile.MAGIC).putInt(GraphFile.VERSION).putInt(2).putInt(0).putLong(edges);
+                head.putLong(0).putLong(Integer.MAX_VALUE).putLong(edges);
+                head.putInt(10).putInt(20).putInt(10).putInt(20).putInt(0).putInt(1);
+                head.flip();
+                channel.write(head, 0);
+
+                ByteBuffer tail = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+                tail.putInt(0).putInt(1);
+                tail.flip();
+                channel.write(tail, head.limit() + 4 * (edges - 2));
+            }
+
+            MappedCsrGraph graph = GraphFile.open(binary);
+            assertEquals(edges, graph.arcCount());
+            assertEquals(Integer.MAX_VALUE, graph.degree(0));
+            assertEquals(2, graph.degree(1));
+            assertEquals(Integer.MAX_VALUE, graph.rowStart(1));
+            assertEquals(0, graph.target(graph.rowStart(1)));
+            assertEquals(1, graph.target(graph.rowEnd(1) - 1));
+            assertEquals(1, graph.indexOf(20));
+            assertThrows(ArithmeticException.class, graph::edgeCount);
+            assertThrows(ArithmeticException.class, () -> graph.edgeEnd(1));
+        } finally {
+            Files.delete(binary);
+        }
+    }
+
+    @Test
+    @DisplayName("Reject files that are not graph files")
+    void rejectInvalidFile() throws Exception {
+        assertThrows(IOException.class, () -> GraphFile.open(resource("data/example.txt")));
+    }
+
+    /**
+     * Utility method
+     * @param name the resource name
+     * @return the resource path
+     */
+    static Path resource(String name) throws Exception {
+        return Paths.get(Objects.requireNonNull(GraphLoaderTest.class.getClassLoader()
+                .getResource(name)).toURI());
+    }
+
+    /**
+     * Utility method
+     * @param expected the expected graph
+     * @param actual the actual graph
+     */
+    static void assertSameGraph(IndexedGraph expected, IndexedGraph actual) {
+        assertEquals(expected.vertexCount(), actual.vertexCount());
+        assertEquals(expected.edgeCount(), actual.edgeCount());
+        for (int v = 0; v < expected.vertexCount(); v++) {
+            assertEquals(expected.originalId(v), actual.originalId(v));
+            assertEquals(expected.degree(v), actual.degree(v));
+            for (int i = 0; i < expected.degree(v); i++) {
+                assertEquals(expected.target(expected.edgeStart(v) + i),
+                             actual.target(actual.edgeStart(v) + i));
+            }
+        }
+    }
+
+}